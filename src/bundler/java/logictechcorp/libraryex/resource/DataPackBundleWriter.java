@@ -0,0 +1,125 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.resource;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+public class DataPackBundleWriter
+{
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length < 2)
+        {
+            System.err.println("Usage: DataPackBundleWriter <datapacks directory> <output directory> [--compress]");
+            System.exit(1);
+        }
+
+        Path inputDirectory = Paths.get(args[0]);
+        Path outputDirectory = Paths.get(args[1]);
+        boolean compress = args.length > 2 && args[2].equals("--compress");
+        Files.createDirectories(outputDirectory);
+
+        try(Stream<Path> packDirectories = Files.list(inputDirectory))
+        {
+            for(Path packDirectory : packDirectories.filter(Files::isDirectory).sorted().collect(Collectors.toList()))
+            {
+                Path output = outputDirectory.resolve(packDirectory.getFileName().toString() + DataPackBundle.EXTENSION);
+                int entryCount = write(packDirectory, output, compress);
+                System.out.println("Wrote " + entryCount + " resources to " + output);
+            }
+        }
+    }
+
+    public static int write(Path packDirectory, Path output, boolean compress) throws IOException
+    {
+        List<Path> files;
+
+        try(Stream<Path> paths = Files.walk(packDirectory))
+        {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        List<String> names = new ArrayList<>(files.size());
+        List<byte[]> contents = new ArrayList<>(files.size());
+        List<Boolean> deflated = new ArrayList<>(files.size());
+        List<Integer> lengths = new ArrayList<>(files.size());
+
+        for(Path file : files)
+        {
+            byte[] bytes = Files.readAllBytes(file);
+            byte[] compressedBytes = compress ? deflate(bytes) : null;
+            boolean useCompression = compressedBytes != null && compressedBytes.length < bytes.length;
+            names.add(packDirectory.relativize(file).toString().replace(File.separatorChar, '/'));
+            contents.add(useCompression ? compressedBytes : bytes);
+            deflated.add(useCompression);
+            lengths.add(bytes.length);
+        }
+
+        try(DataOutputStream dataOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output))))
+        {
+            dataOutput.writeInt(DataPackBundle.MAGIC);
+            dataOutput.writeInt(DataPackBundle.VERSION);
+            dataOutput.writeInt(names.size());
+            int offset = 0;
+
+            for(int i = 0; i < names.size(); i++)
+            {
+                dataOutput.writeUTF(names.get(i));
+                dataOutput.writeByte(deflated.get(i) ? DataPackBundle.DEFLATED : DataPackBundle.STORED);
+                dataOutput.writeInt(offset);
+                dataOutput.writeInt(contents.get(i).length);
+                dataOutput.writeInt(lengths.get(i));
+                offset += contents.get(i).length;
+            }
+
+            for(byte[] content : contents)
+            {
+                dataOutput.write(content);
+            }
+        }
+
+        return names.size();
+    }
+
+    private static byte[] deflate(byte[] bytes)
+    {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(bytes);
+        deflater.finish();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length);
+        byte[] buffer = new byte[8192];
+
+        while(!deflater.finished())
+        {
+            int count = deflater.deflate(buffer);
+            outputStream.write(buffer, 0, count);
+        }
+
+        deflater.end();
+        return outputStream.toByteArray();
+    }
+}
@@ -17,10 +17,19 @@
 
 package logictechcorp.libraryex;
 
+import logictechcorp.libraryex.block.EternalFireScheduler;
+import logictechcorp.libraryex.block.EternalFireSpreadPlanner;
+import logictechcorp.libraryex.command.LibraryExCommand;
+import logictechcorp.libraryex.config.LibraryExConfig;
 import logictechcorp.libraryex.item.crafting.LibraryExRecipeSerializers;
+import logictechcorp.libraryex.world.generation.ChunkPregenerator;
 import logictechcorp.libraryex.world.generation.feature.LibraryExFeatures;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.server.FMLServerStartingEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,5 +45,23 @@ public class LibraryEx
         IEventBus modEventBus = FMLJavaModLoadingContext.get().getModEventBus();
         LibraryExRecipeSerializers.RECIPE_SERIALIZERS.register(modEventBus);
         LibraryExFeatures.FEATURES.register(modEventBus);
+        ModLoadingContext.get().registerConfig(ModConfig.Type.COMMON, LibraryExConfig.COMMON_SPEC);
+        ModLoadingContext.get().registerConfig(ModConfig.Type.CLIENT, LibraryExConfig.CLIENT_SPEC);
+        modEventBus.addListener(LibraryExConfig::onConfigLoading);
+        modEventBus.addListener(LibraryExConfig::onConfigReloading);
+        IEventBus forgeEventBus = MinecraftForge.EVENT_BUS;
+        forgeEventBus.addListener(this::onServerStarting);
+        forgeEventBus.addListener(ChunkPregenerator::onServerTick);
+        forgeEventBus.addListener(EternalFireScheduler::onServerTick);
+        forgeEventBus.addListener(EternalFireSpreadPlanner::onWorldTick);
+        forgeEventBus.addListener(EternalFireSpreadPlanner::onWorldUnload);
+        forgeEventBus.addListener(EternalFireSpreadPlanner::onServerStopping);
+        forgeEventBus.addListener(ChunkPregenerator::onChunkLoad);
+        forgeEventBus.addListener(ChunkPregenerator::onServerStopping);
+    }
+
+    private void onServerStarting(FMLServerStartingEvent event)
+    {
+        LibraryExCommand.register(event.getCommandDispatcher());
     }
 }
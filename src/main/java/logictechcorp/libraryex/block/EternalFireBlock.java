@@ -17,6 +17,7 @@
 
 package logictechcorp.libraryex.block;
 
+import logictechcorp.libraryex.client.FireEffectLimiter;
 import net.minecraft.block.*;
 import net.minecraft.item.BlockItemUseContext;
 import net.minecraft.particles.ParticleTypes;
@@ -67,7 +68,17 @@ public class EternalFireBlock extends Block
     @Override
     public BlockState updatePostPlacement(BlockState state, Direction facing, BlockState facingState, IWorld world, BlockPos currentPos, BlockPos facingPos)
     {
-        return this.isValidPosition(state, world, currentPos) ? this.getStateForPlacement(world, currentPos).with(AGE, state.get(AGE)) : Blocks.AIR.getDefaultState();
+        if(!this.isValidPosition(state, world, currentPos))
+        {
+            return Blocks.AIR.getDefaultState();
+        }
+
+        if(!world.getPendingBlockTicks().isTickScheduled(currentPos, this))
+        {
+            world.getPendingBlockTicks().scheduleTick(currentPos, this, this.tickRate(world) + world.getRandom().nextInt(10));
+        }
+
+        return this.getStateForPlacement(world, currentPos).with(AGE, state.get(AGE));
     }
 
     @Override
@@ -121,10 +132,17 @@ public class EternalFireBlock extends Block
     {
         if(world.getGameRules().getBoolean(GameRules.DO_FIRE_TICK))
         {
+            if(!EternalFireScheduler.tryAcquire(world, pos))
+            {
+                world.getPendingBlockTicks().scheduleTick(pos, this, 1, TickPriority.HIGH);
+                return;
+            }
+
             if(!world.isAreaLoaded(pos, 2))
             {
                 return;
             }
+
             if(!state.isValidPosition(world, pos))
             {
                 world.removeBlock(pos, false);
@@ -148,7 +166,7 @@ public class EternalFireBlock extends Block
 
                 if(!isFireSource)
                 {
-                    world.getPendingBlockTicks().scheduleTick(pos, this, this.tickRate(world) + random.nextInt(10));
+                    int tickDelay = this.tickRate(world) + random.nextInt(10);
 
                     if(!this.areNeighborsFlammable(world, pos))
                     {
@@ -156,10 +174,16 @@ public class EternalFireBlock extends Block
                         {
                             world.removeBlock(pos, false);
                         }
+                        else if(age > 0)
+                        {
+                            world.getPendingBlockTicks().scheduleTick(pos, this, tickDelay);
+                        }
                         return;
                     }
 
-                    if(age == 15 && random.nextInt(4) == 0 && !this.canCatchFire(world, pos.down(), Direction.UP))
+                    world.getPendingBlockTicks().scheduleTick(pos, this, tickDelay);
+
+                    if(age == 15 && random.nextInt(4) == 0 && !this.canCatchFire(world, downPos, Direction.UP))
                     {
                         world.removeBlock(pos, false);
                         return;
@@ -167,47 +191,73 @@ public class EternalFireBlock extends Block
                 }
 
                 boolean isHighHumidity = world.isBlockinHighHumidity(pos);
-                int humidityChance = world.isBlockinHighHumidity(pos) ? -50 : 0;
-                this.tryCatchFire(world, pos, 300 + humidityChance, random, age, Direction.WEST);
-                this.tryCatchFire(world, pos, 300 + humidityChance, random, age, Direction.EAST);
-                this.tryCatchFire(world, pos, 250 + humidityChance, random, age, Direction.UP);
-                this.tryCatchFire(world, pos, 250 + humidityChance, random, age, Direction.DOWN);
-                this.tryCatchFire(world, pos, 300 + humidityChance, random, age, Direction.SOUTH);
-                this.tryCatchFire(world, pos, 300 + humidityChance, random, age, Direction.NORTH);
-                BlockPos.Mutable mutablePos = new BlockPos.Mutable();
-
-                for(int xOffset = -1; xOffset <= 1; ++xOffset)
+                int difficulty = world.getDifficulty().getId();
+
+                if(EternalFireSpreadPlanner.isEnabled())
+                {
+                    EternalFireSpreadPlanner.submit(world, this, pos, age, isHighHumidity, world.isRaining(), difficulty, random.nextLong());
+                }
+                else
                 {
-                    for(int zOffset = -1; zOffset <= 1; ++zOffset)
+                    FireNeighborhood neighborhood = new FireNeighborhood().load(world, pos);
+                    this.spread(world, neighborhood, pos, age, isHighHumidity, world.isRaining(), difficulty, random, null);
+                }
+            }
+        }
+    }
+
+    public void spread(World world, FireNeighborhood neighborhood, BlockPos pos, int age, boolean isHighHumidity, boolean isRaining, int difficulty, Random random, FireSpreadPlan plan)
+    {
+        int humidityChance = isHighHumidity ? -50 : 0;
+        this.tryCatchFire(world, neighborhood, pos, 300 + humidityChance, random, age, Direction.WEST, plan);
+        this.tryCatchFire(world, neighborhood, pos, 300 + humidityChance, random, age, Direction.EAST, plan);
+        this.tryCatchFire(world, neighborhood, pos, 250 + humidityChance, random, age, Direction.UP, plan);
+        this.tryCatchFire(world, neighborhood, pos, 250 + humidityChance, random, age, Direction.DOWN, plan);
+        this.tryCatchFire(world, neighborhood, pos, 300 + humidityChance, random, age, Direction.SOUTH, plan);
+        this.tryCatchFire(world, neighborhood, pos, 300 + humidityChance, random, age, Direction.NORTH, plan);
+        BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+
+        for(int xOffset = -1; xOffset <= 1; ++xOffset)
+        {
+            for(int zOffset = -1; zOffset <= 1; ++zOffset)
+            {
+                for(int yOffset = -1; yOffset <= 4; ++yOffset)
+                {
+                    if(xOffset != 0 || yOffset != 0 || zOffset != 0)
                     {
-                        for(int yOffset = -1; yOffset <= 4; ++yOffset)
+                        int encouragement = 100;
+
+                        if(yOffset > 1)
+                        {
+                            encouragement += (yOffset - 1) * 100;
+                        }
+
+                        mutablePos.setPos(pos).move(xOffset, yOffset, zOffset);
+                        int neighborEncouragement = this.getNeighborEncouragement(neighborhood, mutablePos);
+
+                        if(neighborEncouragement > 0)
                         {
-                            if(xOffset != 0 || yOffset != 0 || zOffset != 0)
+                            int adjustedEncouragement = (neighborEncouragement + 40 + difficulty * 7) / (age + 30);
+
+                            if(isHighHumidity)
+                            {
+                                adjustedEncouragement /= 2;
+                            }
+
+                            if(adjustedEncouragement > 0 && random.nextInt(encouragement) <= adjustedEncouragement && !isRaining)
                             {
-                                int encouragement = 100;
+                                int neighborAge = Math.min(15, age + 1);
+                                BlockState neighborState = this.getStateForPlacement(neighborhood, mutablePos).with(AGE, neighborAge);
 
-                                if(yOffset > 1)
+                                if(plan == null)
                                 {
-                                    encouragement += (yOffset - 1) * 100;
+                                    world.setBlockState(mutablePos, neighborState, 3);
+                                    neighborhood.refresh(mutablePos);
                                 }
-
-                                mutablePos.setPos(pos).move(xOffset, yOffset, zOffset);
-                                int neighborEncouragement = this.getNeighborEncouragement(world, mutablePos);
-
-                                if(neighborEncouragement > 0)
+                                else
                                 {
-                                    int adjustedEncouragement = (neighborEncouragement + 40 + world.getDifficulty().getId() * 7) / (age + 30);
-
-                                    if(isHighHumidity)
-                                    {
-                                        adjustedEncouragement /= 2;
-                                    }
-
-                                    if(adjustedEncouragement > 0 && random.nextInt(encouragement) <= adjustedEncouragement && (!world.isRaining() && !this.isBeingRainedOn(world, mutablePos)))
-                                    {
-                                        int neighborAge = Math.min(15, age + 1);
-                                        world.setBlockState(mutablePos, this.getStateForPlacement(world, mutablePos).with(AGE, neighborAge), 3);
-                                    }
+                                    plan.addPlacement(mutablePos, neighborhood.getBlockState(mutablePos), neighborState);
+                                    neighborhood.setBlockState(mutablePos, neighborState);
                                 }
                             }
                         }
@@ -219,19 +269,37 @@ public class EternalFireBlock extends Block
 
     protected boolean isBeingRainedOn(World world, BlockPos pos)
     {
-        return world.isRainingAt(pos) || world.isRainingAt(pos.west()) || world.isRainingAt(pos.east()) || world.isRainingAt(pos.north()) || world.isRainingAt(pos.south());
+        return PrecipitationCache.isRainingAt(world, pos) || PrecipitationCache.isRainingAt(world, pos.west()) || PrecipitationCache.isRainingAt(world, pos.east()) || PrecipitationCache.isRainingAt(world, pos.north()) || PrecipitationCache.isRainingAt(world, pos.south());
     }
 
     protected void tryCatchFire(World world, BlockPos pos, int chance, Random random, int age, Direction face)
     {
-        if(random.nextInt(chance) < world.getBlockState(pos).getFlammability(world, pos, face))
+        this.tryCatchFire(world, world, pos, chance, random, age, face, null);
+    }
+
+    protected void tryCatchFire(World world, IBlockReader neighborhood, BlockPos pos, int chance, Random random, int age, Direction face, FireSpreadPlan plan)
+    {
+        BlockState state = neighborhood.getBlockState(pos);
+
+        if(random.nextInt(chance) < state.getFlammability(neighborhood, pos, face))
         {
-            BlockState state = world.getBlockState(pos);
-            Block block = world.getBlockState(pos).getBlock();
+            Block block = state.getBlock();
 
             if(block instanceof TNTBlock)
             {
-                block.catchFire(state, world, pos, face, null);
+                if(plan == null)
+                {
+                    block.catchFire(state, world, pos, face, null);
+
+                    if(neighborhood instanceof FireNeighborhood)
+                    {
+                        ((FireNeighborhood) neighborhood).refresh(pos);
+                    }
+                }
+                else
+                {
+                    plan.addCatchFire(pos, state, face);
+                }
             }
         }
     }
@@ -249,19 +317,21 @@ public class EternalFireBlock extends Block
         return false;
     }
 
-    private int getNeighborEncouragement(IWorldReader world, BlockPos pos)
+    protected int getNeighborEncouragement(IBlockReader world, BlockPos pos)
     {
-        if(!world.isAirBlock(pos))
+        if(!world.getBlockState(pos).isAir(world, pos))
         {
             return 0;
         }
         else
         {
             int flammability = 0;
+            BlockPos.Mutable offsetPos = new BlockPos.Mutable();
 
             for(Direction direction : Direction.values())
             {
-                flammability = Math.max(world.getBlockState(pos.offset(direction)).getFlammability(world, pos.offset(direction), direction.getOpposite()), flammability);
+                offsetPos.setPos(pos).move(direction);
+                flammability = Math.max(world.getBlockState(offsetPos).getFlammability(world, offsetPos, direction.getOpposite()), flammability);
             }
             return flammability;
         }
@@ -290,67 +360,89 @@ public class EternalFireBlock extends Block
     @OnlyIn(Dist.CLIENT)
     public void animateTick(BlockState state, World world, BlockPos pos, Random rand)
     {
-        if(rand.nextInt(24) == 0)
+        float detail = FireEffectLimiter.getDetail(pos);
+
+        if(detail <= 0.0F)
+        {
+            return;
+        }
+
+        if(rand.nextInt(24) == 0 && FireEffectLimiter.tryPlaySound(world, pos, rand, detail))
         {
             world.playSound(((float) pos.getX() + 0.5F), ((float) pos.getY() + 0.5F), ((float) pos.getZ() + 0.5F), SoundEvents.BLOCK_FIRE_AMBIENT, SoundCategory.BLOCKS, 1.0F + rand.nextFloat(), rand.nextFloat() * 0.7F + 0.3F, false);
         }
 
-        BlockPos downPos = pos.down();
+        int sides = FireEffectLimiter.getFlammableSides(world, pos, this);
 
-        if(!this.canCatchFire(world, downPos, Direction.UP) && !Block.hasSolidSide(world.getBlockState(downPos), world, downPos, Direction.UP))
+        if((sides & FireEffectLimiter.BURNING_BASE) == 0)
         {
-            if(this.canCatchFire(world, downPos.west(), Direction.EAST))
+            if((sides & FireEffectLimiter.FLAMMABLE_WEST) != 0)
             {
                 for(int particle = 0; particle < 2; particle++)
                 {
-                    double posX = (double) pos.getX() + rand.nextDouble() * (double) 0.1F;
-                    double posY = (double) pos.getY() + rand.nextDouble();
-                    double posZ = (double) pos.getZ() + rand.nextDouble();
-                    world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    if(FireEffectLimiter.tryAddParticle(world, pos, rand, detail))
+                    {
+                        double posX = (double) pos.getX() + rand.nextDouble() * (double) 0.1F;
+                        double posY = (double) pos.getY() + rand.nextDouble();
+                        double posZ = (double) pos.getZ() + rand.nextDouble();
+                        world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    }
                 }
             }
 
-            if(this.canCatchFire(world, pos.east(), Direction.WEST))
+            if((sides & FireEffectLimiter.FLAMMABLE_EAST) != 0)
             {
                 for(int particle = 0; particle < 2; particle++)
                 {
-                    double posX = (double) (pos.getX() + 1) - rand.nextDouble() * (double) 0.1F;
-                    double posY = (double) pos.getY() + rand.nextDouble();
-                    double posZ = (double) pos.getZ() + rand.nextDouble();
-                    world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    if(FireEffectLimiter.tryAddParticle(world, pos, rand, detail))
+                    {
+                        double posX = (double) (pos.getX() + 1) - rand.nextDouble() * (double) 0.1F;
+                        double posY = (double) pos.getY() + rand.nextDouble();
+                        double posZ = (double) pos.getZ() + rand.nextDouble();
+                        world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    }
                 }
             }
 
-            if(this.canCatchFire(world, pos.north(), Direction.SOUTH))
+            if((sides & FireEffectLimiter.FLAMMABLE_NORTH) != 0)
             {
                 for(int particle = 0; particle < 2; particle++)
                 {
-                    double posX = (double) pos.getX() + rand.nextDouble();
-                    double posY = (double) pos.getY() + rand.nextDouble();
-                    double posZ = (double) pos.getZ() + rand.nextDouble() * (double) 0.1F;
-                    world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    if(FireEffectLimiter.tryAddParticle(world, pos, rand, detail))
+                    {
+                        double posX = (double) pos.getX() + rand.nextDouble();
+                        double posY = (double) pos.getY() + rand.nextDouble();
+                        double posZ = (double) pos.getZ() + rand.nextDouble() * (double) 0.1F;
+                        world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    }
                 }
             }
 
-            if(this.canCatchFire(world, pos.south(), Direction.NORTH))
+            if((sides & FireEffectLimiter.FLAMMABLE_SOUTH) != 0)
             {
                 for(int particle = 0; particle < 2; particle++)
                 {
-                    double posX = (double) pos.getX() + rand.nextDouble();
-                    double posY = (double) pos.getY() + rand.nextDouble();
-                    double posZ = (double) (pos.getZ() + 1) - rand.nextDouble() * (double) 0.1F;
-                    world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    if(FireEffectLimiter.tryAddParticle(world, pos, rand, detail))
+                    {
+                        double posX = (double) pos.getX() + rand.nextDouble();
+                        double posY = (double) pos.getY() + rand.nextDouble();
+                        double posZ = (double) (pos.getZ() + 1) - rand.nextDouble() * (double) 0.1F;
+                        world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    }
                 }
             }
 
-            if(this.canCatchFire(world, pos.up(), Direction.DOWN))
+            if((sides & FireEffectLimiter.FLAMMABLE_UP) != 0)
             {
                 for(int particle = 0; particle < 2; particle++)
                 {
-                    double posX = (double) pos.getX() + rand.nextDouble();
-                    double posY = (double) (pos.getY() + 1) - rand.nextDouble() * (double) 0.1F;
-                    double posZ = (double) pos.getZ() + rand.nextDouble();
-                    world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    if(FireEffectLimiter.tryAddParticle(world, pos, rand, detail))
+                    {
+                        double posX = (double) pos.getX() + rand.nextDouble();
+                        double posY = (double) (pos.getY() + 1) - rand.nextDouble() * (double) 0.1F;
+                        double posZ = (double) pos.getZ() + rand.nextDouble();
+                        world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                    }
                 }
             }
         }
@@ -358,13 +450,15 @@ public class EternalFireBlock extends Block
         {
             for(int particle = 0; particle < 3; particle++)
             {
-                double posX = (double) pos.getX() + rand.nextDouble();
-                double posY = (double) pos.getY() + rand.nextDouble() * 0.5D + 0.5D;
-                double posZ = (double) pos.getZ() + rand.nextDouble();
-                world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                if(FireEffectLimiter.tryAddParticle(world, pos, rand, detail))
+                {
+                    double posX = (double) pos.getX() + rand.nextDouble();
+                    double posY = (double) pos.getY() + rand.nextDouble() * 0.5D + 0.5D;
+                    double posZ = (double) pos.getZ() + rand.nextDouble();
+                    world.addParticle(ParticleTypes.LARGE_SMOKE, posX, posY, posZ, 0.0D, 0.0D, 0.0D);
+                }
             }
         }
-
     }
 
     @Override
@@ -0,0 +1,88 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.block;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+
+public class EternalFireScheduler
+{
+    private static final Long2IntOpenHashMap CHUNK_TICKS = new Long2IntOpenHashMap();
+    private static volatile int maxTicksPerServerTick;
+    private static volatile int maxTicksPerChunk;
+    private static World lastWorld;
+    private static int serverTicks;
+
+    public static void configure(int maxTicksPerServerTick, int maxTicksPerChunk)
+    {
+        EternalFireScheduler.maxTicksPerServerTick = maxTicksPerServerTick;
+        EternalFireScheduler.maxTicksPerChunk = maxTicksPerChunk;
+    }
+
+    public static void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if(event.phase == TickEvent.Phase.START)
+        {
+            serverTicks = 0;
+            lastWorld = null;
+            CHUNK_TICKS.clear();
+        }
+    }
+
+    public static boolean tryAcquire(World world, BlockPos pos)
+    {
+        int serverLimit = maxTicksPerServerTick;
+        int chunkLimit = maxTicksPerChunk;
+
+        if(serverLimit <= 0 && chunkLimit <= 0)
+        {
+            return true;
+        }
+
+        if(serverLimit > 0 && serverTicks >= serverLimit)
+        {
+            return false;
+        }
+
+        if(chunkLimit > 0)
+        {
+            if(world != lastWorld)
+            {
+                lastWorld = world;
+                CHUNK_TICKS.clear();
+            }
+
+            long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+            int chunkTicks = CHUNK_TICKS.get(chunkKey);
+
+            if(chunkTicks >= chunkLimit)
+            {
+                return false;
+            }
+
+            CHUNK_TICKS.put(chunkKey, chunkTicks + 1);
+        }
+
+        serverTicks++;
+        return true;
+    }
+}
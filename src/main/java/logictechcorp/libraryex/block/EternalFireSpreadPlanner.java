@@ -0,0 +1,208 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.block;
+
+import logictechcorp.libraryex.LibraryEx;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.fluid.IFluidState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockReader;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.event.server.FMLServerStoppingEvent;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EternalFireSpreadPlanner
+{
+    private static final Map<IWorld, Queue<FireSpreadPlan>> COMPLETED_PLANS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static volatile ExecutorService executor;
+
+    public static void configure(boolean enabled)
+    {
+        EternalFireSpreadPlanner.enabled = enabled;
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void submit(World world, EternalFireBlock block, BlockPos pos, int age, boolean isHighHumidity, boolean isRaining, int difficulty, long seed)
+    {
+        FireSpreadPlan plan = new FireSpreadPlan(world, block, pos);
+        ChunkVolume chunkVolume = new ChunkVolume(world, plan.getPos());
+        Queue<FireSpreadPlan> completedPlans = COMPLETED_PLANS.computeIfAbsent(world, key -> new ConcurrentLinkedQueue<>());
+
+        getExecutor().execute(() ->
+        {
+            try
+            {
+                FireNeighborhood neighborhood = new FireNeighborhood().load(chunkVolume, plan.getPos()).detach();
+                block.spread(world, neighborhood, plan.getPos(), age, isHighHumidity, isRaining, difficulty, new Random(seed), plan);
+
+                if(!plan.isEmpty())
+                {
+                    completedPlans.add(plan);
+                }
+            }
+            catch(RuntimeException e)
+            {
+                LibraryEx.LOGGER.error("Couldn't plan eternal fire spread at {}.", plan.getPos(), e);
+            }
+        });
+    }
+
+    public static void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.END || event.side != LogicalSide.SERVER)
+        {
+            return;
+        }
+
+        Queue<FireSpreadPlan> completedPlans = COMPLETED_PLANS.get(event.world);
+
+        if(completedPlans == null)
+        {
+            return;
+        }
+
+        for(int i = completedPlans.size(); i > 0; i--)
+        {
+            FireSpreadPlan plan = completedPlans.poll();
+
+            if(plan == null)
+            {
+                break;
+            }
+
+            plan.apply();
+        }
+    }
+
+    public static void onWorldUnload(WorldEvent.Unload event)
+    {
+        COMPLETED_PLANS.remove(event.getWorld());
+    }
+
+    public static void onServerStopping(FMLServerStoppingEvent event)
+    {
+        synchronized(EternalFireSpreadPlanner.class)
+        {
+            if(executor != null)
+            {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+
+        COMPLETED_PLANS.clear();
+    }
+
+    private static ExecutorService getExecutor()
+    {
+        ExecutorService executor = EternalFireSpreadPlanner.executor;
+
+        if(executor == null)
+        {
+            synchronized(EternalFireSpreadPlanner.class)
+            {
+                executor = EternalFireSpreadPlanner.executor;
+
+                if(executor == null)
+                {
+                    AtomicInteger threadCount = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable ->
+                    {
+                        Thread thread = new Thread(runnable, "LibraryEx Fire Planner #" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    EternalFireSpreadPlanner.executor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    private static class ChunkVolume implements IBlockReader
+    {
+        private final IChunk[] chunks = new IChunk[4];
+        private final int minChunkX;
+        private final int minChunkZ;
+
+        private ChunkVolume(World world, BlockPos pos)
+        {
+            this.minChunkX = (pos.getX() - FireNeighborhood.HORIZONTAL_RADIUS) >> 4;
+            this.minChunkZ = (pos.getZ() - FireNeighborhood.HORIZONTAL_RADIUS) >> 4;
+            int maxChunkX = (pos.getX() + FireNeighborhood.HORIZONTAL_RADIUS) >> 4;
+            int maxChunkZ = (pos.getZ() + FireNeighborhood.HORIZONTAL_RADIUS) >> 4;
+
+            for(int chunkX = this.minChunkX; chunkX <= maxChunkX; chunkX++)
+            {
+                for(int chunkZ = this.minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+                {
+                    this.chunks[((chunkX - this.minChunkX) << 1) | (chunkZ - this.minChunkZ)] = world.getChunk(chunkX, chunkZ);
+                }
+            }
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos)
+        {
+            int chunkX = (pos.getX() >> 4) - this.minChunkX;
+            int chunkZ = (pos.getZ() >> 4) - this.minChunkZ;
+
+            if(chunkX < 0 || chunkX > 1 || chunkZ < 0 || chunkZ > 1)
+            {
+                return Blocks.AIR.getDefaultState();
+            }
+
+            IChunk chunk = this.chunks[(chunkX << 1) | chunkZ];
+            return chunk == null ? Blocks.AIR.getDefaultState() : chunk.getBlockState(pos);
+        }
+
+        @Override
+        public IFluidState getFluidState(BlockPos pos)
+        {
+            return this.getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public TileEntity getTileEntity(BlockPos pos)
+        {
+            return null;
+        }
+    }
+}
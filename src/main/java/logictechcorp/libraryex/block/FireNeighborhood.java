@@ -0,0 +1,125 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.block;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.IFluidState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EmptyBlockReader;
+import net.minecraft.world.IBlockReader;
+
+public class FireNeighborhood implements IBlockReader
+{
+    public static final int HORIZONTAL_RADIUS = 2;
+    public static final int MIN_Y_OFFSET = -2;
+    public static final int MAX_Y_OFFSET = 5;
+
+    private static final int WIDTH = HORIZONTAL_RADIUS * 2 + 1;
+    private static final int HEIGHT = MAX_Y_OFFSET - MIN_Y_OFFSET + 1;
+
+    private final BlockState[] states = new BlockState[WIDTH * WIDTH * HEIGHT];
+    private IBlockReader world;
+    private int originX;
+    private int originY;
+    private int originZ;
+
+    public FireNeighborhood load(IBlockReader world, BlockPos origin)
+    {
+        this.world = world;
+        this.originX = origin.getX();
+        this.originY = origin.getY();
+        this.originZ = origin.getZ();
+        BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+        int index = 0;
+
+        for(int xOffset = -HORIZONTAL_RADIUS; xOffset <= HORIZONTAL_RADIUS; xOffset++)
+        {
+            for(int zOffset = -HORIZONTAL_RADIUS; zOffset <= HORIZONTAL_RADIUS; zOffset++)
+            {
+                for(int yOffset = MIN_Y_OFFSET; yOffset <= MAX_Y_OFFSET; yOffset++)
+                {
+                    mutablePos.setPos(this.originX + xOffset, this.originY + yOffset, this.originZ + zOffset);
+                    this.states[index++] = world.getBlockState(mutablePos);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    public FireNeighborhood detach()
+    {
+        this.world = EmptyBlockReader.INSTANCE;
+        return this;
+    }
+
+    public void setBlockState(BlockPos pos, BlockState state)
+    {
+        int index = this.getIndex(pos);
+
+        if(index >= 0)
+        {
+            this.states[index] = state;
+        }
+    }
+
+    public void refresh(BlockPos pos)
+    {
+        int index = this.getIndex(pos);
+
+        if(index >= 0)
+        {
+            this.states[index] = this.world.getBlockState(pos);
+        }
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos)
+    {
+        int index = this.getIndex(pos);
+        return index >= 0 ? this.states[index] : this.world.getBlockState(pos);
+    }
+
+    @Override
+    public IFluidState getFluidState(BlockPos pos)
+    {
+        return this.getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public TileEntity getTileEntity(BlockPos pos)
+    {
+        return this.world.getTileEntity(pos);
+    }
+
+    private int getIndex(BlockPos pos)
+    {
+        int xOffset = pos.getX() - this.originX + HORIZONTAL_RADIUS;
+        int yOffset = pos.getY() - this.originY - MIN_Y_OFFSET;
+        int zOffset = pos.getZ() - this.originZ + HORIZONTAL_RADIUS;
+
+        if(xOffset < 0 || xOffset >= WIDTH || yOffset < 0 || yOffset >= HEIGHT || zOffset < 0 || zOffset >= WIDTH)
+        {
+            return -1;
+        }
+
+        return (xOffset * WIDTH + zOffset) * HEIGHT + yOffset;
+    }
+}
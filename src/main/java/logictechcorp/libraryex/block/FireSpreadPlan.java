@@ -0,0 +1,115 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.block;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FireSpreadPlan
+{
+    private final World world;
+    private final EternalFireBlock block;
+    private final BlockPos pos;
+    private final List<BlockPos> catchFirePositions = new ArrayList<>();
+    private final List<BlockState> catchFireStates = new ArrayList<>();
+    private final List<Direction> catchFireFaces = new ArrayList<>();
+    private final List<BlockPos> placementPositions = new ArrayList<>();
+    private final List<BlockState> expectedStates = new ArrayList<>();
+    private final List<BlockState> placementStates = new ArrayList<>();
+
+    public FireSpreadPlan(World world, EternalFireBlock block, BlockPos pos)
+    {
+        this.world = world;
+        this.block = block;
+        this.pos = pos.toImmutable();
+    }
+
+    public void addCatchFire(BlockPos pos, BlockState state, Direction face)
+    {
+        this.catchFirePositions.add(pos.toImmutable());
+        this.catchFireStates.add(state);
+        this.catchFireFaces.add(face);
+    }
+
+    public void addPlacement(BlockPos pos, BlockState expectedState, BlockState state)
+    {
+        this.placementPositions.add(pos.toImmutable());
+        this.expectedStates.add(expectedState);
+        this.placementStates.add(state);
+    }
+
+    public boolean apply()
+    {
+        if(!this.world.isAreaLoaded(this.pos, 2) || this.world.getBlockState(this.pos).getBlock() != this.block)
+        {
+            return false;
+        }
+
+        for(int i = 0; i < this.catchFirePositions.size(); i++)
+        {
+            BlockPos pos = this.catchFirePositions.get(i);
+            BlockState state = this.catchFireStates.get(i);
+
+            if(this.world.getBlockState(pos) != state || !state.isFlammable(this.world, pos, this.catchFireFaces.get(i)))
+            {
+                return false;
+            }
+        }
+
+        for(int i = 0; i < this.placementPositions.size(); i++)
+        {
+            BlockPos pos = this.placementPositions.get(i);
+
+            if(this.world.getBlockState(pos) != this.expectedStates.get(i) || this.block.getNeighborEncouragement(this.world, pos) <= 0)
+            {
+                return false;
+            }
+        }
+
+        for(int i = 0; i < this.catchFirePositions.size(); i++)
+        {
+            BlockState state = this.catchFireStates.get(i);
+            state.getBlock().catchFire(state, this.world, this.catchFirePositions.get(i), this.catchFireFaces.get(i), null);
+        }
+
+        for(int i = 0; i < this.placementPositions.size(); i++)
+        {
+            BlockPos pos = this.placementPositions.get(i);
+            BlockState state = this.block.getStateForPlacement(this.world, pos).with(EternalFireBlock.AGE, this.placementStates.get(i).get(EternalFireBlock.AGE));
+            this.world.setBlockState(pos, state, 3);
+        }
+
+        return true;
+    }
+
+    public BlockPos getPos()
+    {
+        return this.pos;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.catchFirePositions.isEmpty() && this.placementPositions.isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.block;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.gen.Heightmap;
+
+import java.util.Arrays;
+
+public class PrecipitationCache
+{
+    private static final Long2ObjectOpenHashMap<Column> COLUMNS = new Long2ObjectOpenHashMap<>();
+    private static World cachedWorld;
+    private static long cachedTime = Long.MIN_VALUE;
+
+    public static boolean isRainingAt(World world, BlockPos pos)
+    {
+        if(!world.isRaining())
+        {
+            return false;
+        }
+
+        if(world != cachedWorld || world.getGameTime() != cachedTime)
+        {
+            cachedWorld = world;
+            cachedTime = world.getGameTime();
+            COLUMNS.clear();
+        }
+
+        long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        Column column = COLUMNS.get(chunkKey);
+
+        if(column == null)
+        {
+            column = new Column();
+            COLUMNS.put(chunkKey, column);
+        }
+
+        int index = ((pos.getX() & 15) << 4) | (pos.getZ() & 15);
+
+        if(column.heights[index] == Column.UNKNOWN)
+        {
+            column.heights[index] = world.getHeight(Heightmap.Type.MOTION_BLOCKING, pos).getY();
+        }
+
+        return column.heights[index] <= pos.getY() && world.canSeeSky(pos) && world.getBiome(pos).getPrecipitation() == Biome.RainType.RAIN;
+    }
+
+    private static class Column
+    {
+        private static final int UNKNOWN = Integer.MIN_VALUE;
+
+        private final int[] heights = new int[256];
+
+        private Column()
+        {
+            Arrays.fill(this.heights, UNKNOWN);
+        }
+    }
+}
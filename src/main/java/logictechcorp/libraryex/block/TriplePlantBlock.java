@@ -17,6 +17,7 @@
 
 package logictechcorp.libraryex.block;
 
+import logictechcorp.libraryex.world.generation.GenerationBlockWriter;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -126,24 +127,31 @@ public class TriplePlantBlock extends BushBlock
 
     public void placeAt(IWorld world, Random random, BlockPos pos)
     {
-        if(world.getBlockState(pos.down()).getBlock() != this)
+        GenerationBlockWriter writer = new GenerationBlockWriter(world);
+        this.placeAt(writer, random, pos);
+        writer.flush();
+    }
+
+    public void placeAt(GenerationBlockWriter writer, Random random, BlockPos pos)
+    {
+        if(writer.getWorld().getBlockState(pos.down()).getBlock() != this)
         {
             int height = random.nextInt(3) + 1;
 
             if(height == 1)
             {
-                world.setBlockState(pos, this.getDefaultState().with(PART, Part.TOP), 3);
+                writer.setBlockState(pos, this.getDefaultState().with(PART, Part.TOP), 3);
             }
             else if(height == 2)
             {
-                world.setBlockState(pos.up(), this.getDefaultState().with(PART, Part.TOP), 3);
-                world.setBlockState(pos, this.getDefaultState().with(PART, Part.MIDDLE), 3);
+                writer.setBlockState(pos.up(), this.getDefaultState().with(PART, Part.TOP), 3);
+                writer.setBlockState(pos, this.getDefaultState().with(PART, Part.MIDDLE), 3);
             }
             else
             {
-                world.setBlockState(pos.up(2), this.getDefaultState().with(PART, Part.TOP), 3);
-                world.setBlockState(pos.up(), this.getDefaultState().with(PART, Part.MIDDLE), 3);
-                world.setBlockState(pos, this.getDefaultState().with(PART, Part.BOTTOM), 3);
+                writer.setBlockState(pos.up(2), this.getDefaultState().with(PART, Part.TOP), 3);
+                writer.setBlockState(pos.up(), this.getDefaultState().with(PART, Part.MIDDLE), 3);
+                writer.setBlockState(pos, this.getDefaultState().with(PART, Part.BOTTOM), 3);
             }
         }
     }
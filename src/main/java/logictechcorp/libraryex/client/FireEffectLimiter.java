@@ -0,0 +1,178 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.client;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import logictechcorp.libraryex.block.EternalFireBlock;
+import net.minecraft.block.Block;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import java.util.Random;
+
+@OnlyIn(Dist.CLIENT)
+public class FireEffectLimiter
+{
+    public static final int BURNING_BASE = 1;
+    public static final int FLAMMABLE_WEST = 1 << 1;
+    public static final int FLAMMABLE_EAST = 1 << 2;
+    public static final int FLAMMABLE_NORTH = 1 << 3;
+    public static final int FLAMMABLE_SOUTH = 1 << 4;
+    public static final int FLAMMABLE_UP = 1 << 5;
+
+    private static final int SIDE_CACHE_TICKS = 20;
+    private static final int MAX_CACHED_SIDES = 8192;
+    private static final Long2IntOpenHashMap CHUNK_PARTICLES = new Long2IntOpenHashMap();
+    private static final Long2IntOpenHashMap CHUNK_SOUNDS = new Long2IntOpenHashMap();
+    private static final Long2LongOpenHashMap FLAMMABLE_SIDES = new Long2LongOpenHashMap();
+    private static volatile int maxParticlesPerChunk = 64;
+    private static volatile int maxSoundsPerChunk = 2;
+    private static volatile double fullDetailDistance = 16.0D;
+    private static volatile double maxDetailDistance = 48.0D;
+    private static World cachedWorld;
+    private static long cachedTime = Long.MIN_VALUE;
+
+    public static void configure(int maxParticlesPerChunk, int maxSoundsPerChunk, int fullDetailDistance, int maxDetailDistance)
+    {
+        FireEffectLimiter.maxParticlesPerChunk = maxParticlesPerChunk;
+        FireEffectLimiter.maxSoundsPerChunk = maxSoundsPerChunk;
+        FireEffectLimiter.fullDetailDistance = fullDetailDistance;
+        FireEffectLimiter.maxDetailDistance = Math.max(fullDetailDistance, maxDetailDistance);
+    }
+
+    public static float getDetail(BlockPos pos)
+    {
+        Entity viewEntity = Minecraft.getInstance().getRenderViewEntity();
+
+        if(viewEntity == null)
+        {
+            return 1.0F;
+        }
+
+        double distanceSq = viewEntity.getDistanceSq(pos.getX() + 0.5D, pos.getY() + 0.5D, pos.getZ() + 0.5D);
+        double fullDistance = fullDetailDistance;
+        double maxDistance = maxDetailDistance;
+
+        if(distanceSq <= fullDistance * fullDistance)
+        {
+            return 1.0F;
+        }
+
+        if(distanceSq >= maxDistance * maxDistance)
+        {
+            return 0.0F;
+        }
+
+        return (float) (1.0D - (Math.sqrt(distanceSq) - fullDistance) / (maxDistance - fullDistance));
+    }
+
+    public static boolean tryAddParticle(World world, BlockPos pos, Random random, float detail)
+    {
+        return tryAcquire(world, pos, random, detail, CHUNK_PARTICLES, maxParticlesPerChunk);
+    }
+
+    public static boolean tryPlaySound(World world, BlockPos pos, Random random, float detail)
+    {
+        return tryAcquire(world, pos, random, detail, CHUNK_SOUNDS, maxSoundsPerChunk);
+    }
+
+    public static int getFlammableSides(World world, BlockPos pos, EternalFireBlock block)
+    {
+        update(world);
+        long posKey = pos.toLong();
+        long cached = FLAMMABLE_SIDES.getOrDefault(posKey, Long.MIN_VALUE);
+
+        if(cached != Long.MIN_VALUE && cachedTime - (cached >> 6) < SIDE_CACHE_TICKS)
+        {
+            return (int) (cached & 63L);
+        }
+
+        int sides = 0;
+        BlockPos downPos = pos.down();
+
+        if(block.canCatchFire(world, downPos, Direction.UP) || Block.hasSolidSide(world.getBlockState(downPos), world, downPos, Direction.UP))
+        {
+            sides |= BURNING_BASE;
+        }
+        else
+        {
+            sides |= block.canCatchFire(world, downPos.west(), Direction.EAST) ? FLAMMABLE_WEST : 0;
+            sides |= block.canCatchFire(world, pos.east(), Direction.WEST) ? FLAMMABLE_EAST : 0;
+            sides |= block.canCatchFire(world, pos.north(), Direction.SOUTH) ? FLAMMABLE_NORTH : 0;
+            sides |= block.canCatchFire(world, pos.south(), Direction.NORTH) ? FLAMMABLE_SOUTH : 0;
+            sides |= block.canCatchFire(world, pos.up(), Direction.DOWN) ? FLAMMABLE_UP : 0;
+        }
+
+        if(FLAMMABLE_SIDES.size() >= MAX_CACHED_SIDES)
+        {
+            FLAMMABLE_SIDES.clear();
+        }
+
+        FLAMMABLE_SIDES.put(posKey, (cachedTime << 6) | sides);
+        return sides;
+    }
+
+    private static boolean tryAcquire(World world, BlockPos pos, Random random, float detail, Long2IntOpenHashMap counts, int limit)
+    {
+        if(detail <= 0.0F || (detail < 1.0F && random.nextFloat() >= detail))
+        {
+            return false;
+        }
+
+        if(limit <= 0)
+        {
+            return true;
+        }
+
+        update(world);
+        long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        int count = counts.get(chunkKey);
+
+        if(count >= limit)
+        {
+            return false;
+        }
+
+        counts.put(chunkKey, count + 1);
+        return true;
+    }
+
+    private static void update(World world)
+    {
+        if(world != cachedWorld)
+        {
+            cachedWorld = world;
+            FLAMMABLE_SIDES.clear();
+        }
+
+        if(world.getGameTime() != cachedTime)
+        {
+            cachedTime = world.getGameTime();
+            CHUNK_PARTICLES.clear();
+            CHUNK_SOUNDS.clear();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.command;
+
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import logictechcorp.libraryex.world.biome.FeatureCircuitBreaker;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+
+import java.util.List;
+
+public class FeatureBudgetCommand
+{
+    public static ArgumentBuilder<CommandSource, ?> register()
+    {
+        return Commands.literal("budget")
+                .then(Commands.literal("list").executes(FeatureBudgetCommand::list))
+                .then(Commands.literal("reset").executes(FeatureBudgetCommand::reset));
+    }
+
+    private static int list(CommandContext<CommandSource> context)
+    {
+        CommandSource source = context.getSource();
+
+        if(!FeatureCircuitBreaker.isEnabled())
+        {
+            source.sendFeedback(new StringTextComponent("The feature time budget is disabled."), false);
+            return CommandCompletion.FAILURE;
+        }
+
+        List<FeatureCircuitBreaker.Report> reports = FeatureCircuitBreaker.getReports();
+
+        if(reports.isEmpty())
+        {
+            source.sendFeedback(new StringTextComponent("No feature has exceeded its time budget."), false);
+            return CommandCompletion.SUCCESS;
+        }
+
+        for(FeatureCircuitBreaker.Report report : reports)
+        {
+            source.sendFeedback(new StringTextComponent(String.format("%s (%s %s): %d over budget, slowest %.2f ms%s", report.getTarget(), report.getBiomeName(), report.getStage(), report.getStrikes(), report.getWorstNanos() / 1.0E6D, report.isTripped() ? ", disabled in this biome" : "")), false);
+        }
+
+        return CommandCompletion.SUCCESS;
+    }
+
+    private static int reset(CommandContext<CommandSource> context)
+    {
+        FeatureCircuitBreaker.reset();
+        context.getSource().sendFeedback(new StringTextComponent("Feature time budget reports cleared and disabled features re-enabled."), true);
+        return CommandCompletion.SUCCESS;
+    }
+}
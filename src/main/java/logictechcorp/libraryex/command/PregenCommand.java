@@ -0,0 +1,90 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.command;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import logictechcorp.libraryex.config.LibraryExConfig;
+import logictechcorp.libraryex.world.generation.ChunkPregenerator;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.StringTextComponent;
+
+public class PregenCommand
+{
+    public static ArgumentBuilder<CommandSource, ?> register()
+    {
+        return Commands.literal("pregen")
+                .then(Commands.literal("square").then(shape(false)))
+                .then(Commands.literal("circle").then(shape(true)))
+                .then(Commands.literal("stop").executes(PregenCommand::stop))
+                .then(Commands.literal("status").executes(PregenCommand::status));
+    }
+
+    private static ArgumentBuilder<CommandSource, ?> shape(boolean circular)
+    {
+        return Commands.argument("radius", IntegerArgumentType.integer(0, 1000))
+                .executes(context -> start(context, circular, LibraryExConfig.COMMON.pregenConcurrency.get()))
+                .then(Commands.argument("concurrency", IntegerArgumentType.integer(1, 256))
+                        .executes(context -> start(context, circular, IntegerArgumentType.getInteger(context, "concurrency"))));
+    }
+
+    private static int start(CommandContext<CommandSource> context, boolean circular, int concurrency)
+    {
+        CommandSource source = context.getSource();
+        BlockPos pos = new BlockPos(source.getPos());
+        int radius = IntegerArgumentType.getInteger(context, "radius");
+
+        if(!ChunkPregenerator.start(source.getWorld(), source, pos.getX() >> 4, pos.getZ() >> 4, radius, circular, concurrency, LibraryExConfig.COMMON.pregenMemoryCap.get()))
+        {
+            source.sendErrorMessage(new StringTextComponent("Pregeneration is already running."));
+            return CommandCompletion.FAILURE;
+        }
+
+        source.sendFeedback(new StringTextComponent(String.format("Pregenerating a %s of radius %d chunks around chunk %d, %d with %d chunks in flight.", circular ? "circle" : "square", radius, pos.getX() >> 4, pos.getZ() >> 4, concurrency)), true);
+        return CommandCompletion.SUCCESS;
+    }
+
+    private static int stop(CommandContext<CommandSource> context)
+    {
+        if(!ChunkPregenerator.stop())
+        {
+            context.getSource().sendErrorMessage(new StringTextComponent("Pregeneration is not running."));
+            return CommandCompletion.FAILURE;
+        }
+
+        return CommandCompletion.SUCCESS;
+    }
+
+    private static int status(CommandContext<CommandSource> context)
+    {
+        ChunkPregenerator pregenerator = ChunkPregenerator.getActivePregenerator();
+
+        if(pregenerator == null)
+        {
+            context.getSource().sendErrorMessage(new StringTextComponent("Pregeneration is not running."));
+            return CommandCompletion.FAILURE;
+        }
+
+        context.getSource().sendFeedback(new StringTextComponent(pregenerator.getStatus()), false);
+        return CommandCompletion.SUCCESS;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.command;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import logictechcorp.libraryex.LibraryEx;
+import logictechcorp.libraryex.world.biome.BiomeDataProfiler;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+public class ProfilerCommand
+{
+    public static ArgumentBuilder<CommandSource, ?> register()
+    {
+        return Commands.literal("profiler")
+                .then(Commands.literal("start").executes(context -> setEnabled(context, true)))
+                .then(Commands.literal("stop").executes(context -> setEnabled(context, false)))
+                .then(Commands.literal("reset").executes(ProfilerCommand::reset))
+                .then(Commands.literal("dump").executes(ProfilerCommand::dump))
+                .then(Commands.literal("top")
+                        .executes(context -> top(context, 5))
+                        .then(Commands.argument("count", IntegerArgumentType.integer(1, 50))
+                                .executes(context -> top(context, IntegerArgumentType.getInteger(context, "count")))));
+    }
+
+    private static int setEnabled(CommandContext<CommandSource> context, boolean enabled)
+    {
+        BiomeDataProfiler.setEnabled(enabled);
+        context.getSource().sendFeedback(new StringTextComponent("Worldgen profiler " + (enabled ? "started" : "stopped") + "."), true);
+        return CommandCompletion.SUCCESS;
+    }
+
+    private static int reset(CommandContext<CommandSource> context)
+    {
+        BiomeDataProfiler.reset();
+        context.getSource().sendFeedback(new StringTextComponent("Worldgen profiler data cleared."), true);
+        return CommandCompletion.SUCCESS;
+    }
+
+    private static int dump(CommandContext<CommandSource> context)
+    {
+        CommandSource source = context.getSource();
+        String fileName = "worldgen-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv";
+        Path path = source.getServer().getDataDirectory().toPath().resolve(LibraryEx.MOD_ID).resolve("profiler").resolve(fileName);
+
+        try
+        {
+            BiomeDataProfiler.dump(path);
+            source.sendFeedback(new StringTextComponent("Worldgen profiler data written to " + path.toAbsolutePath() + "."), true);
+            return CommandCompletion.SUCCESS;
+        }
+        catch(IOException e)
+        {
+            LibraryEx.LOGGER.error("Couldn't write worldgen profiler data to {}.", path, e);
+            source.sendErrorMessage(new StringTextComponent("Couldn't write worldgen profiler data: " + e.getMessage()));
+            return CommandCompletion.FAILURE;
+        }
+    }
+
+    private static int top(CommandContext<CommandSource> context, int count)
+    {
+        CommandSource source = context.getSource();
+        List<BiomeDataProfiler.Entry> entries = BiomeDataProfiler.getEntries();
+
+        if(entries.isEmpty())
+        {
+            source.sendFeedback(new StringTextComponent("No worldgen profiler data recorded."), false);
+            return CommandCompletion.FAILURE;
+        }
+
+        for(BiomeDataProfiler.Entry entry : entries.subList(0, Math.min(count, entries.size())))
+        {
+            source.sendFeedback(new StringTextComponent(String.format("%s %s %s: %d calls, %.1f%% placed, %.2f ms total, %.1f us max", entry.getBiomeName(), entry.getStage(), entry.getTarget(), entry.getCalls(), entry.getSuccessRate() * 100.0D, entry.getTotalNanos() / 1.0E6D, entry.getMaxNanos() / 1.0E3D)), false);
+        }
+
+        return CommandCompletion.SUCCESS;
+    }
+}
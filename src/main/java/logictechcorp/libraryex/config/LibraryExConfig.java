@@ -0,0 +1,143 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.config;
+
+import logictechcorp.libraryex.block.EternalFireScheduler;
+import logictechcorp.libraryex.block.EternalFireSpreadPlanner;
+import logictechcorp.libraryex.client.FireEffectLimiter;
+import logictechcorp.libraryex.world.biome.FeatureCircuitBreaker;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.fml.config.ModConfig;
+import org.apache.commons.lang3.tuple.Pair;
+
+public class LibraryExConfig
+{
+    public static final ForgeConfigSpec COMMON_SPEC;
+    public static final Common COMMON;
+    public static final ForgeConfigSpec CLIENT_SPEC;
+    public static final Client CLIENT;
+
+    static
+    {
+        Pair<Common, ForgeConfigSpec> commonPair = new ForgeConfigSpec.Builder().configure(Common::new);
+        COMMON_SPEC = commonPair.getRight();
+        COMMON = commonPair.getLeft();
+        Pair<Client, ForgeConfigSpec> clientPair = new ForgeConfigSpec.Builder().configure(Client::new);
+        CLIENT_SPEC = clientPair.getRight();
+        CLIENT = clientPair.getLeft();
+    }
+
+    public static void onConfigLoading(ModConfig.Loading event)
+    {
+        onConfigChanged(event.getConfig());
+    }
+
+    public static void onConfigReloading(ModConfig.ConfigReloading event)
+    {
+        onConfigChanged(event.getConfig());
+    }
+
+    private static void onConfigChanged(ModConfig config)
+    {
+        if(config.getSpec() == COMMON_SPEC)
+        {
+            FeatureCircuitBreaker.configure(COMMON.featureTimeBudget.get(), COMMON.featureBudgetStrikes.get(), COMMON.disableSlowFeatures.get());
+            EternalFireScheduler.configure(COMMON.fireTicksPerServerTick.get(), COMMON.fireTicksPerChunk.get());
+            EternalFireSpreadPlanner.configure(COMMON.asyncFireSpread.get());
+        }
+        else if(config.getSpec() == CLIENT_SPEC)
+        {
+            DistExecutor.runWhenOn(Dist.CLIENT, () -> () -> FireEffectLimiter.configure(CLIENT.fireParticlesPerChunk.get(), CLIENT.fireSoundsPerChunk.get(), CLIENT.fireFullDetailDistance.get(), CLIENT.fireMaxDetailDistance.get()));
+        }
+    }
+
+    public static class Common
+    {
+        public final ForgeConfigSpec.IntValue featureTimeBudget;
+        public final ForgeConfigSpec.IntValue featureBudgetStrikes;
+        public final ForgeConfigSpec.BooleanValue disableSlowFeatures;
+        public final ForgeConfigSpec.IntValue pregenConcurrency;
+        public final ForgeConfigSpec.IntValue pregenMemoryCap;
+        public final ForgeConfigSpec.IntValue fireTicksPerServerTick;
+        public final ForgeConfigSpec.IntValue fireTicksPerChunk;
+        public final ForgeConfigSpec.BooleanValue asyncFireSpread;
+
+        Common(ForgeConfigSpec.Builder builder)
+        {
+            builder.push("worldgen");
+            this.featureTimeBudget = builder
+                    .comment("The time in milliseconds a single data pack feature may take to place in a chunk. Set to 0 to disable the budget.")
+                    .defineInRange("featureTimeBudget", 0, 0, 60000);
+            this.featureBudgetStrikes = builder
+                    .comment("How many times in a row a feature has to exceed its time budget before it is reported.")
+                    .defineInRange("featureBudgetStrikes", 5, 1, Integer.MAX_VALUE);
+            this.disableSlowFeatures = builder
+                    .comment("Whether features that are reported for exceeding their time budget are skipped for the rest of the session.")
+                    .define("disableSlowFeatures", false);
+            builder.pop();
+            builder.push("pregen");
+            this.pregenConcurrency = builder
+                    .comment("The default number of chunks the pregen command keeps in flight at once.")
+                    .defineInRange("pregenConcurrency", 8, 1, 256);
+            this.pregenMemoryCap = builder
+                    .comment("The percentage of the maximum heap above which the pregen command stops requesting new chunks until memory is freed.")
+                    .defineInRange("pregenMemoryCap", 80, 10, 100);
+            builder.pop();
+            builder.push("fire");
+            this.fireTicksPerServerTick = builder
+                    .comment("The maximum number of eternal fire ticks processed per server tick, across all worlds. Ticks over the limit are postponed to the next tick. 0 disables the limit.")
+                    .defineInRange("fireTicksPerServerTick", 1024, 0, 65536);
+            this.fireTicksPerChunk = builder
+                    .comment("The maximum number of eternal fire ticks processed per chunk per server tick. Ticks over the limit are postponed to the next tick. 0 disables the limit.")
+                    .defineInRange("fireTicksPerChunk", 64, 0, 65536);
+            this.asyncFireSpread = builder
+                    .comment("Whether eternal fire spread is planned on worker threads and applied on the server thread at the end of the world tick. Plans are discarded if the fire, a target block or the fuel next to a target changed in the meantime.")
+                    .define("asyncFireSpread", false);
+            builder.pop();
+        }
+    }
+
+    public static class Client
+    {
+        public final ForgeConfigSpec.IntValue fireParticlesPerChunk;
+        public final ForgeConfigSpec.IntValue fireSoundsPerChunk;
+        public final ForgeConfigSpec.IntValue fireFullDetailDistance;
+        public final ForgeConfigSpec.IntValue fireMaxDetailDistance;
+
+        Client(ForgeConfigSpec.Builder builder)
+        {
+            builder.push("fire");
+            this.fireParticlesPerChunk = builder
+                    .comment("The maximum number of eternal fire smoke particles spawned per chunk per tick. 0 disables the limit.")
+                    .defineInRange("fireParticlesPerChunk", 64, 0, 4096);
+            this.fireSoundsPerChunk = builder
+                    .comment("The maximum number of eternal fire ambient sounds played per chunk per tick. 0 disables the limit.")
+                    .defineInRange("fireSoundsPerChunk", 2, 0, 256);
+            this.fireFullDetailDistance = builder
+                    .comment("The distance in blocks within which eternal fire effects are shown in full.")
+                    .defineInRange("fireFullDetailDistance", 16, 0, 256);
+            this.fireMaxDetailDistance = builder
+                    .comment("The distance in blocks beyond which eternal fire effects are no longer shown. Effects thin out linearly between the full detail distance and this one.")
+                    .defineInRange("fireMaxDetailDistance", 48, 0, 256);
+            builder.pop();
+        }
+    }
+}
@@ -18,7 +18,7 @@
 
 package logictechcorp.libraryex.resource;
 
-import com.google.common.base.Joiner;
+import logictechcorp.libraryex.LibraryEx;
 import net.minecraft.resources.IPackFinder;
 import net.minecraft.resources.ResourcePackInfo;
 import net.minecraft.resources.ResourcePackType;
@@ -26,30 +26,45 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.loading.moddiscovery.ModFile;
 import net.minecraftforge.fml.packs.ModFileResourcePack;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BuiltinDataPack extends ModFileResourcePack implements IPackFinder
 {
+    private static final int MAX_CACHED_RESOURCE_SIZE = 64 * 1024;
+    private static final long MAX_CACHED_TOTAL_SIZE = 4 * 1024 * 1024;
+
     private ModFile modFile;
     private String modId;
     private String packName;
+    private boolean cacheResources;
+    private final Map<String, byte[]> resourceCache = new ConcurrentHashMap<>();
+    private final AtomicLong resourceCacheSize = new AtomicLong();
+    private volatile DataPackBundle bundle;
+    private volatile Path bundlePath;
+    private volatile Node rootNode;
 
     public BuiltinDataPack(ModFile modFile, String packName)
+    {
+        this(modFile, packName, false);
+    }
+
+    public BuiltinDataPack(ModFile modFile, String packName, boolean cacheResources)
     {
         super(modFile);
         this.modFile = modFile;
         this.modId = modFile.getModInfos().get(0).getModId();
         this.packName = packName;
+        this.cacheResources = cacheResources;
     }
 
     @Override
@@ -67,58 +82,230 @@ public class BuiltinDataPack extends ModFileResourcePack implements IPackFinder
     @Override
     public boolean resourceExists(String name)
     {
-        return Files.exists(this.modFile.getLocator().findPath(this.modFile, "datapacks", this.packName, name));
+        Node node = this.getRootNode().find(name);
+        return node != null && node.isFile();
     }
 
     @Override
     public InputStream getInputStream(String name) throws IOException
     {
+        this.getRootNode();
+        DataPackBundle bundle = this.bundle;
+
+        if(bundle != null)
+        {
+            if(bundle.hasData())
+            {
+                return bundle.getInputStream(name);
+            }
+
+            try(InputStream bundleInputStream = Files.newInputStream(this.bundlePath, StandardOpenOption.READ))
+            {
+                return bundle.getInputStream(name, bundleInputStream);
+            }
+        }
+
+        if(this.cacheResources)
+        {
+            byte[] bytes = this.resourceCache.get(name);
+
+            if(bytes != null)
+            {
+                return new ByteArrayInputStream(bytes);
+            }
+        }
+
         Path path = this.modFile.getLocator().findPath(this.modFile, "datapacks", this.packName, name);
+
+        long size = this.cacheResources ? Files.size(path) : -1L;
+
+        if(size >= 0L && size <= MAX_CACHED_RESOURCE_SIZE && this.reserveCacheSpace(size))
+        {
+            byte[] bytes = Files.readAllBytes(path);
+            this.resourceCacheSize.addAndGet(bytes.length - size);
+
+            if(this.resourceCache.putIfAbsent(name, bytes) != null)
+            {
+                this.resourceCacheSize.addAndGet(-bytes.length);
+            }
+
+            return new ByteArrayInputStream(bytes);
+        }
+
         return Files.newInputStream(path, StandardOpenOption.READ);
     }
 
     @Override
     public Collection<ResourceLocation> getAllResourceLocations(ResourcePackType type, String resourceNamespace, String path, int maxDepth, Predicate<String> filter)
     {
-        try
-        {
-            Path root = this.modFile.getLocator().findPath(this.modFile, "datapacks").toAbsolutePath();
-            Path inputPath = root.getFileSystem().getPath(path);
+        Node namespaceNode = this.getRootNode().find(type.getDirectoryName() + "/" + resourceNamespace);
 
-            return Files.walk(root)
-                    .map(currentPath -> root.relativize(currentPath.toAbsolutePath()))
-                    .filter(currentPath -> currentPath.getNameCount() > 3 && currentPath.getNameCount() - 1 <= maxDepth)
-                    .filter(currentPath -> !currentPath.toString().endsWith(".mcmeta"))
-                    .filter(currentPath -> currentPath.startsWith(this.packName))
-                    .filter(currentPath -> currentPath.subpath(3, currentPath.getNameCount()).startsWith(inputPath))
-                    .filter(currentPath -> filter.test(currentPath.getFileName().toString()))
-                    .map(currentPath -> new ResourceLocation(currentPath.getName(2).toString(), Joiner.on('/').join(currentPath.subpath(3, Math.min(maxDepth, currentPath.getNameCount())))))
-                    .collect(Collectors.toList());
+        if(namespaceNode == null)
+        {
+            return Collections.emptyList();
         }
-        catch(IOException e)
+
+        Node pathNode = namespaceNode.find(path);
+
+        if(pathNode == null)
         {
             return Collections.emptyList();
         }
+
+        List<ResourceLocation> resourceLocations = new ArrayList<>();
+        this.collectResourceLocations(resourceLocations, pathNode, resourceNamespace, new StringBuilder(path), maxDepth, filter);
+        return resourceLocations;
     }
 
     @Override
     public Set<String> getResourceNamespaces(ResourcePackType type)
     {
-        try
+        Node typeNode = this.getRootNode().find(type.getDirectoryName());
+        return typeNode == null ? Collections.emptySet() : typeNode.getDirectoryNames();
+    }
+
+    private boolean reserveCacheSpace(long size)
+    {
+        while(true)
+        {
+            long cacheSize = this.resourceCacheSize.get();
+
+            if(cacheSize + size > MAX_CACHED_TOTAL_SIZE)
+            {
+                return false;
+            }
+
+            if(this.resourceCacheSize.compareAndSet(cacheSize, cacheSize + size))
+            {
+                return true;
+            }
+        }
+    }
+
+    private void collectResourceLocations(List<ResourceLocation> resourceLocations, Node node, String resourceNamespace, StringBuilder path, int depth, Predicate<String> filter)
+    {
+        int length = path.length();
+
+        for(Map.Entry<String, Node> entry : node.children.entrySet())
+        {
+            String name = entry.getKey();
+            Node child = entry.getValue();
+
+            if(length > 0)
+            {
+                path.append('/');
+            }
+
+            path.append(name);
+
+            if(child.isFile())
+            {
+                if(!name.endsWith(".mcmeta") && filter.test(name))
+                {
+                    resourceLocations.add(new ResourceLocation(resourceNamespace, path.toString()));
+                }
+            }
+            else if(depth > 0)
+            {
+                this.collectResourceLocations(resourceLocations, child, resourceNamespace, path, depth - 1, filter);
+            }
+
+            path.setLength(length);
+        }
+    }
+
+    private Node getRootNode()
+    {
+        Node rootNode = this.rootNode;
+
+        if(rootNode == null)
+        {
+            synchronized(this)
+            {
+                rootNode = this.rootNode;
+
+                if(rootNode == null)
+                {
+                    rootNode = this.buildRootNode();
+                    this.rootNode = rootNode;
+                }
+            }
+        }
+
+        return rootNode;
+    }
+
+    private Node buildRootNode()
+    {
+        Node rootNode = new Node();
+        Path bundlePath = this.modFile.getLocator().findPath(this.modFile, "datapacks", this.packName + DataPackBundle.EXTENSION);
+
+        if(Files.isRegularFile(bundlePath))
+        {
+            try(InputStream inputStream = Files.newInputStream(bundlePath, StandardOpenOption.READ))
+            {
+                DataPackBundle bundle = this.cacheResources ? DataPackBundle.read(inputStream) : DataPackBundle.readIndex(inputStream);
+
+                for(String path : bundle.getPaths())
+                {
+                    Node node = rootNode;
+
+                    for(String name : path.split("/"))
+                    {
+                        node = node.getOrCreateChild(name);
+                    }
+
+                    node.file = true;
+                }
+
+                this.bundlePath = bundlePath;
+                this.bundle = bundle;
+                return rootNode;
+            }
+            catch(IOException e)
+            {
+                LibraryEx.LOGGER.error("Couldn't read the {} builtin data pack bundle of {}.", this.packName, this.modId, e);
+                rootNode = new Node();
+            }
+        }
+
+        Path root = this.modFile.getLocator().findPath(this.modFile, "datapacks", this.packName).toAbsolutePath();
+
+        if(!Files.isDirectory(root))
+        {
+            return rootNode;
+        }
+
+        try(Stream<Path> paths = Files.walk(root))
         {
-            Path root = this.modFile.getLocator().findPath(this.modFile, "datapacks").toAbsolutePath();
-            return Files.walk(root, 3)
-                    .map(path -> root.relativize(path.toAbsolutePath()))
-                    .filter(path -> path.getNameCount() == 3)
-                    .map(path -> path.getName(2))
-                    .map(path -> path.toString().replaceAll("/$", ""))
-                    .filter(path -> !path.isEmpty())
-                    .collect(Collectors.toSet());
+            paths.forEach(path ->
+            {
+                Path relativePath = root.relativize(path.toAbsolutePath());
+
+                if(relativePath.getNameCount() == 0 || relativePath.toString().isEmpty())
+                {
+                    return;
+                }
+
+                Node node = rootNode;
+
+                for(Path name : relativePath)
+                {
+                    node = node.getOrCreateChild(name.toString().replaceAll("/$", ""));
+                }
+
+                if(!Files.isDirectory(path))
+                {
+                    node.file = true;
+                }
+            });
         }
         catch(IOException e)
         {
-            return Collections.emptySet();
+            LibraryEx.LOGGER.error("Couldn't index the {} builtin data pack of {}.", this.packName, this.modId, e);
         }
+
+        return rootNode;
     }
 
     @Override
@@ -126,4 +313,61 @@ public class BuiltinDataPack extends ModFileResourcePack implements IPackFinder
     {
         return this.modId + ":" + this.packName;
     }
+
+    private static class Node
+    {
+        private final Map<String, Node> children = new TreeMap<>();
+        private boolean file;
+
+        private Node getOrCreateChild(String name)
+        {
+            return this.children.computeIfAbsent(name, key -> new Node());
+        }
+
+        private Node find(String path)
+        {
+            Node node = this;
+            int start = 0;
+            int length = path.length();
+
+            while(node != null && start < length)
+            {
+                int end = path.indexOf('/', start);
+
+                if(end == -1)
+                {
+                    end = length;
+                }
+
+                if(end > start)
+                {
+                    node = node.children.get(path.substring(start, end));
+                }
+
+                start = end + 1;
+            }
+
+            return node;
+        }
+
+        private boolean isFile()
+        {
+            return this.file;
+        }
+
+        private Set<String> getDirectoryNames()
+        {
+            Set<String> names = new HashSet<>();
+
+            for(Map.Entry<String, Node> entry : this.children.entrySet())
+            {
+                if(!entry.getValue().isFile() && !entry.getKey().isEmpty())
+                {
+                    names.add(entry.getKey());
+                }
+            }
+
+            return names;
+        }
+    }
 }
@@ -0,0 +1,240 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.resource;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+public class DataPackBundle
+{
+    public static final String EXTENSION = ".bundle";
+    public static final int MAGIC = 0x4C584450;
+    public static final int VERSION = 1;
+    public static final byte STORED = 0;
+    public static final byte DEFLATED = 1;
+
+    private final Map<String, Entry> entries;
+    private final int dataOffset;
+    private final byte[] data;
+
+    private DataPackBundle(Map<String, Entry> entries, int dataOffset, byte[] data)
+    {
+        this.entries = entries;
+        this.dataOffset = dataOffset;
+        this.data = data;
+    }
+
+    public static DataPackBundle read(InputStream inputStream) throws IOException
+    {
+        return read(inputStream, true);
+    }
+
+    public static DataPackBundle readIndex(InputStream inputStream) throws IOException
+    {
+        return read(inputStream, false);
+    }
+
+    private static DataPackBundle read(InputStream inputStream, boolean readData) throws IOException
+    {
+        DataInputStream dataInput = new DataInputStream(new BufferedInputStream(inputStream));
+
+        if(dataInput.readInt() != MAGIC)
+        {
+            throw new IOException("Not a data pack bundle");
+        }
+
+        int version = dataInput.readInt();
+
+        if(version != VERSION)
+        {
+            throw new IOException("Unsupported data pack bundle version " + version);
+        }
+
+        int entryCount = dataInput.readInt();
+        Map<String, Entry> entries = new LinkedHashMap<>(entryCount * 2);
+        int dataOffset = 12;
+        int dataLength = 0;
+
+        for(int i = 0; i < entryCount; i++)
+        {
+            String path = dataInput.readUTF();
+            byte compression = dataInput.readByte();
+            int offset = dataInput.readInt();
+            int storedLength = dataInput.readInt();
+            int length = dataInput.readInt();
+            entries.put(path, new Entry(compression, offset, storedLength, length));
+            dataOffset += 15 + getEncodedLength(path);
+            dataLength = Math.max(dataLength, offset + storedLength);
+        }
+
+        if(!readData)
+        {
+            return new DataPackBundle(entries, dataOffset, null);
+        }
+
+        byte[] data = new byte[dataLength];
+        dataInput.readFully(data);
+        return new DataPackBundle(entries, dataOffset, data);
+    }
+
+    private static int getEncodedLength(String path)
+    {
+        int length = 0;
+
+        for(int i = 0; i < path.length(); i++)
+        {
+            char c = path.charAt(i);
+
+            if(c >= 0x0001 && c <= 0x007F)
+            {
+                length++;
+            }
+            else if(c > 0x07FF)
+            {
+                length += 3;
+            }
+            else
+            {
+                length += 2;
+            }
+        }
+
+        return length;
+    }
+
+    public boolean contains(String path)
+    {
+        return this.entries.containsKey(path);
+    }
+
+    public boolean hasData()
+    {
+        return this.data != null;
+    }
+
+    public InputStream getInputStream(String path) throws IOException
+    {
+        Entry entry = this.getEntry(path);
+
+        if(this.data == null)
+        {
+            throw new IOException("The data of this data pack bundle wasn't read");
+        }
+
+        return this.openEntry(entry, new ByteArrayInputStream(this.data, entry.offset, entry.storedLength));
+    }
+
+    public InputStream getInputStream(String path, InputStream bundleInputStream) throws IOException
+    {
+        Entry entry = this.getEntry(path);
+        DataInputStream dataInput = new DataInputStream(bundleInputStream);
+        long remaining = (long) this.dataOffset + entry.offset;
+
+        while(remaining > 0L)
+        {
+            long skipped = dataInput.skip(remaining);
+
+            if(skipped <= 0L)
+            {
+                if(dataInput.read() < 0)
+                {
+                    throw new EOFException("Data pack bundle entry " + path + " is out of bounds");
+                }
+
+                skipped = 1L;
+            }
+
+            remaining -= skipped;
+        }
+
+        byte[] storedData = new byte[entry.storedLength];
+        dataInput.readFully(storedData);
+        return this.openEntry(entry, new ByteArrayInputStream(storedData));
+    }
+
+    private Entry getEntry(String path) throws FileNotFoundException
+    {
+        Entry entry = this.entries.get(path);
+
+        if(entry == null)
+        {
+            throw new FileNotFoundException(path);
+        }
+
+        return entry;
+    }
+
+    private InputStream openEntry(Entry entry, InputStream inputStream)
+    {
+        if(entry.compression == DEFLATED)
+        {
+            Inflater inflater = new Inflater(true);
+
+            return new InflaterInputStream(inputStream, inflater)
+            {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException
+                {
+                    if(!this.closed)
+                    {
+                        this.closed = true;
+                        inflater.end();
+                        super.close();
+                    }
+                }
+            };
+        }
+
+        return inputStream;
+    }
+
+    public int getLength(String path)
+    {
+        Entry entry = this.entries.get(path);
+        return entry == null ? -1 : entry.length;
+    }
+
+    public Set<String> getPaths()
+    {
+        return Collections.unmodifiableSet(this.entries.keySet());
+    }
+
+    private static class Entry
+    {
+        private final byte compression;
+        private final int offset;
+        private final int storedLength;
+        private final int length;
+
+        private Entry(byte compression, int offset, int storedLength, int length)
+        {
+            this.compression = compression;
+            this.offset = offset;
+            this.storedLength = storedLength;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.utility;
+
+import net.minecraft.world.gen.INoiseRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+public class AliasTable<T>
+{
+    private final Object[] values;
+    private final int[] thresholds;
+    private final int[] aliases;
+    private final int totalWeight;
+
+    private AliasTable(Object[] values, int[] thresholds, int[] aliases, int totalWeight)
+    {
+        this.values = values;
+        this.thresholds = thresholds;
+        this.aliases = aliases;
+        this.totalWeight = totalWeight;
+    }
+
+    public static <T> AliasTable<T> create(Iterable<T> values, ToIntFunction<T> weightFunction)
+    {
+        List<T> weightedValues = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        long totalWeight = 0L;
+
+        for(T value : values)
+        {
+            int weight = weightFunction.applyAsInt(value);
+
+            if(weight > 0)
+            {
+                weightedValues.add(value);
+                weights.add(weight);
+                totalWeight += weight;
+            }
+        }
+
+        if(totalWeight > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Tried to create an AliasTable with a total weight larger than " + Integer.MAX_VALUE);
+        }
+
+        int size = weightedValues.size();
+        long[] scaledWeights = new long[size];
+        int[] thresholds = new int[size];
+        int[] aliases = new int[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for(int index = 0; index < size; index++)
+        {
+            scaledWeights[index] = (long) weights.get(index) * size;
+            aliases[index] = index;
+
+            if(scaledWeights[index] < totalWeight)
+            {
+                small[smallCount++] = index;
+            }
+            else
+            {
+                large[largeCount++] = index;
+            }
+        }
+
+        while(smallCount > 0 && largeCount > 0)
+        {
+            int smallIndex = small[--smallCount];
+            int largeIndex = large[--largeCount];
+            thresholds[smallIndex] = (int) scaledWeights[smallIndex];
+            aliases[smallIndex] = largeIndex;
+            scaledWeights[largeIndex] -= totalWeight - scaledWeights[smallIndex];
+
+            if(scaledWeights[largeIndex] < totalWeight)
+            {
+                small[smallCount++] = largeIndex;
+            }
+            else
+            {
+                large[largeCount++] = largeIndex;
+            }
+        }
+
+        while(smallCount > 0)
+        {
+            thresholds[small[--smallCount]] = (int) totalWeight;
+        }
+
+        while(largeCount > 0)
+        {
+            thresholds[large[--largeCount]] = (int) totalWeight;
+        }
+
+        return new AliasTable<>(weightedValues.toArray(), thresholds, aliases, (int) totalWeight);
+    }
+
+    public T get(Random random)
+    {
+        if(this.values.length == 0)
+        {
+            return null;
+        }
+
+        return this.get(random.nextInt(this.values.length), random.nextInt(this.totalWeight));
+    }
+
+    public T get(INoiseRandom random)
+    {
+        if(this.values.length == 0)
+        {
+            return null;
+        }
+
+        return this.get(random.random(this.values.length), random.random(this.totalWeight));
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int column, int roll)
+    {
+        return (T) this.values[roll < this.thresholds[column] ? column : this.aliases[column]];
+    }
+
+    public boolean isEmpty()
+    {
+        return this.values.length == 0;
+    }
+
+    public int size()
+    {
+        return this.values.length;
+    }
+
+    public int getTotalWeight()
+    {
+        return this.totalWeight;
+    }
+}
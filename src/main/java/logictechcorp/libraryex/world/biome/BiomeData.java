@@ -18,14 +18,20 @@
 package logictechcorp.libraryex.world.biome;
 
 import com.mojang.datafixers.Dynamic;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import logictechcorp.libraryex.utility.AliasTable;
+import logictechcorp.libraryex.world.generation.carver.IRangedCarver;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.ReportedException;
 import net.minecraft.entity.EntityClassification;
+import net.minecraft.entity.EntityType;
 import net.minecraft.util.SharedSeedRandom;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeManager;
@@ -34,6 +40,7 @@ import net.minecraft.world.chunk.IChunk;
 import net.minecraft.world.gen.ChunkGenerator;
 import net.minecraft.world.gen.GenerationSettings;
 import net.minecraft.world.gen.GenerationStage;
+import net.minecraft.world.gen.INoiseRandom;
 import net.minecraft.world.gen.carver.ConfiguredCarver;
 import net.minecraft.world.gen.feature.ConfiguredFeature;
 import net.minecraft.world.gen.feature.IFeatureConfig;
@@ -42,10 +49,13 @@ import net.minecraft.world.gen.surfacebuilders.ISurfaceBuilderConfig;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class BiomeData
 {
     public static final BiomeData EMPTY = new BiomeData(Biomes.PLAINS, 10, true, true, true, true, false);
+    private static final CarverDecisionCache CARVER_DECISIONS = new CarverDecisionCache(1 << 16);
 
     protected final Biome biome;
     protected int generationWeight;
@@ -58,8 +68,14 @@ public class BiomeData
     protected final Map<EntityClassification, List<Biome.SpawnListEntry>> spawns;
     protected final Map<GenerationStage.Carving, List<ConfiguredCarver<?>>> carvers;
     protected final Map<GenerationStage.Decoration, List<ConfiguredFeature<?, ?>>> features;
+    protected final Map<GenerationStage.Carving, IntList> carverRanges;
     protected final Map<Structure<?>, IFeatureConfig> structures;
     protected final List<BiomeData> subBiomes;
+    private volatile SpawnTable spawnTable;
+    private volatile AliasTable<BiomeData> subBiomeTable;
+    private volatile StructureTable structureTable;
+    private volatile Consumer<BiomeData> generationDataDecoder;
+    private boolean decodingGenerationData;
 
     public BiomeData(Biome biome, int generationWeight, boolean useDefaultEntities, boolean useDefaultCarvers, boolean useDefaultFeatures, boolean useDefaultStructures, boolean isSubBiome)
     {
@@ -74,8 +90,19 @@ public class BiomeData
         this.spawns = new EnumMap<>(EntityClassification.class);
         this.carvers = new EnumMap<>(GenerationStage.Carving.class);
         this.features = new EnumMap<>(GenerationStage.Decoration.class);
+        this.carverRanges = new EnumMap<>(GenerationStage.Carving.class);
         this.structures = new HashMap<>();
         this.subBiomes = new ArrayList<>();
+
+        for(GenerationStage.Carving stage : GenerationStage.Carving.values())
+        {
+            this.carvers.put(stage, new ArrayList<>());
+        }
+
+        for(GenerationStage.Decoration stage : GenerationStage.Decoration.values())
+        {
+            this.features.put(stage, new ArrayList<>());
+        }
     }
 
     public void configureBiome()
@@ -88,6 +115,45 @@ public class BiomeData
 
     }
 
+    public void bake()
+    {
+        this.spawnTable = new SpawnTable(this);
+        this.subBiomeTable = AliasTable.create(this.subBiomes, BiomeData::getGenerationWeight);
+        this.structureTable = this.generationDataDecoder == null ? new StructureTable(this) : null;
+    }
+
+    public void setGenerationDataDecoder(Consumer<BiomeData> generationDataDecoder)
+    {
+        this.generationDataDecoder = generationDataDecoder;
+        this.structureTable = null;
+    }
+
+    protected void decodeGenerationData()
+    {
+        if(this.generationDataDecoder != null)
+        {
+            synchronized(this)
+            {
+                Consumer<BiomeData> generationDataDecoder = this.generationDataDecoder;
+
+                if(generationDataDecoder != null && !this.decodingGenerationData)
+                {
+                    this.decodingGenerationData = true;
+
+                    try
+                    {
+                        generationDataDecoder.accept(this);
+                    }
+                    finally
+                    {
+                        this.decodingGenerationData = false;
+                        this.generationDataDecoder = null;
+                    }
+                }
+            }
+        }
+    }
+
     public void addBiomeBlock(BlockType blockType, BlockState blockState)
     {
         this.blocks.put(blockType, blockState);
@@ -95,35 +161,76 @@ public class BiomeData
 
     public void addEntitySpawn(Biome.SpawnListEntry spawnListEntry)
     {
-        if(spawnListEntry.itemWeight > 0)
+        this.addEntitySpawns(Collections.singletonList(spawnListEntry));
+    }
+
+    public void addEntitySpawns(Collection<Biome.SpawnListEntry> spawnListEntries)
+    {
+        Set<EntityType<?>> entityTypes = new HashSet<>();
+
+        for(Biome.SpawnListEntry spawnListEntry : spawnListEntries)
         {
-            this.spawns.computeIfAbsent(spawnListEntry.entityType.getClassification(), k -> new ArrayList<>()).add(spawnListEntry);
+            if(spawnListEntry.itemWeight > 0)
+            {
+                this.spawns.computeIfAbsent(spawnListEntry.entityType.getClassification(), k -> new ArrayList<>()).add(spawnListEntry);
+            }
+
+            entityTypes.add(spawnListEntry.entityType);
         }
 
-        for(EntityClassification classification : EntityClassification.values())
+        if(!entityTypes.isEmpty())
         {
-            this.biome.getSpawns(classification).removeIf(entry -> entry.entityType == spawnListEntry.entityType);
+            for(EntityClassification classification : EntityClassification.values())
+            {
+                this.biome.getSpawns(classification).removeIf(entry -> entityTypes.contains(entry.entityType));
+            }
         }
+
+        this.spawnTable = null;
     }
 
     public void addCarver(GenerationStage.Carving stage, ConfiguredCarver<?> carver)
     {
-        this.carvers.computeIfAbsent(stage, k -> new ArrayList<>()).add(carver);
+        this.addCarverEntry(stage, carver, -1);
+    }
+
+    public void addCarver(GenerationStage.Carving stage, ConfiguredCarver<?> carver, int chunkRange)
+    {
+        this.addCarverEntry(stage, carver, MathHelper.clamp(chunkRange, 0, IRangedCarver.MAX_CHUNK_RANGE));
+    }
+
+    private void addCarverEntry(GenerationStage.Carving stage, ConfiguredCarver<?> carver, int chunkRange)
+    {
+        this.decodeGenerationData();
+        List<ConfiguredCarver<?>> carvers = this.carvers.computeIfAbsent(stage, k -> new ArrayList<>());
+        IntList carverRanges = this.carverRanges.computeIfAbsent(stage, k -> new IntArrayList());
+
+        while(carverRanges.size() < carvers.size())
+        {
+            carverRanges.add(-1);
+        }
+
+        carvers.add(carver);
+        carverRanges.add(chunkRange);
     }
 
     public void addFeature(GenerationStage.Decoration stage, ConfiguredFeature<?, ?> feature)
     {
+        this.decodeGenerationData();
         this.features.computeIfAbsent(stage, k -> new ArrayList<>()).add(feature);
     }
 
     public <C extends IFeatureConfig> void addStructure(Structure<?> structure, C config)
     {
+        this.decodeGenerationData();
         this.structures.put(structure, config);
+        this.structureTable = null;
     }
 
     public void addSubBiome(BiomeData subBiomeData)
     {
         this.subBiomes.add(subBiomeData);
+        this.subBiomeTable = null;
     }
 
     public void carve(BiomeManager biomeManager, IChunk chunk, GenerationStage.Carving stage, long seed, int seaLevel)
@@ -132,30 +239,68 @@ public class BiomeData
         int chunkX = chunkPos.x;
         int chunkZ = chunkPos.z;
         SharedSeedRandom random = new SharedSeedRandom();
+        boolean profile = BiomeDataProfiler.isEnabled();
+        Function<BlockPos, Biome> biomeGetter = biomeManager::getBiome;
+        BitSet carvingMask = chunk.getCarvingMask(stage);
+        List<ConfiguredCarver<?>> carvers = new ArrayList<>();
 
-        for(int posX = chunkX - 8; posX <= chunkX + 8; posX++)
+        if(this.useDefaultCarvers)
         {
-            for(int posZ = chunkZ - 8; posZ <= chunkZ + 8; posZ++)
+            carvers.addAll(this.biome.getCarvers(stage));
+        }
+
+        int defaultCarverCount = carvers.size();
+        carvers.addAll(this.getCarvers(stage));
+
+        int[] carverRanges = new int[carvers.size()];
+        int maxCarverRange = 0;
+
+        for(int index = 0; index < carvers.size(); index++)
+        {
+            carverRanges[index] = index < defaultCarverCount ? this.getCarverRange(carvers.get(index)) : this.getCarverRange(stage, index - defaultCarverCount);
+            maxCarverRange = Math.max(maxCarverRange, carverRanges[index]);
+        }
+
+        for(int posX = chunkX - maxCarverRange; posX <= chunkX + maxCarverRange; posX++)
+        {
+            for(int posZ = chunkZ - maxCarverRange; posZ <= chunkZ + maxCarverRange; posZ++)
             {
-                List<ConfiguredCarver<?>> carvers = new ArrayList<>();
+                int chunkDistance = Math.max(Math.abs(posX - chunkX), Math.abs(posZ - chunkZ));
 
-                if(this.useDefaultCarvers)
+                for(int index = 0; index < carvers.size(); index++)
                 {
-                    carvers.addAll(this.biome.getCarvers(stage));
-                }
+                    if(chunkDistance > carverRanges[index])
+                    {
+                        continue;
+                    }
 
-                carvers.addAll(this.getCarvers(stage));
-                ListIterator<ConfiguredCarver<?>> carverIter = carvers.listIterator();
+                    ConfiguredCarver<?> carver = carvers.get(index);
+                    long startTime = profile ? System.nanoTime() : 0L;
+                    int decision = CARVER_DECISIONS.getDecision(seed, index, carver, posX, posZ);
+                    boolean carved = false;
 
-                while(carverIter.hasNext())
-                {
-                    int index = carverIter.nextIndex();
-                    ConfiguredCarver<?> carver = carverIter.next();
-                    random.setLargeFeatureSeed(seed + (long) index, posX, posZ);
+                    if(decision != CarverDecisionCache.SKIP)
+                    {
+                        random.setLargeFeatureSeed(seed + (long) index, posX, posZ);
+
+                        if(carver.shouldCarve(random, posX, posZ))
+                        {
+                            if(decision == CarverDecisionCache.UNKNOWN)
+                            {
+                                CARVER_DECISIONS.putDecision(seed, index, carver, posX, posZ, true);
+                            }
+
+                            carved = carver.func_227207_a_(chunk, biomeGetter, random, seaLevel, posX, posZ, chunkX, chunkZ, carvingMask);
+                        }
+                        else if(decision == CarverDecisionCache.UNKNOWN)
+                        {
+                            CARVER_DECISIONS.putDecision(seed, index, carver, posX, posZ, false);
+                        }
+                    }
 
-                    if(carver.shouldCarve(random, posX, posZ))
+                    if(profile)
                     {
-                        carver.func_227207_a_(chunk, biomeManager::getBiome, random, seaLevel, posX, posZ, chunkX, chunkZ, chunk.getCarvingMask(stage));
+                        BiomeDataProfiler.recordCarver(this.biome, stage, carver, System.nanoTime() - startTime, carved);
                     }
                 }
             }
@@ -165,6 +310,8 @@ public class BiomeData
     public void decorate(GenerationStage.Decoration stage, ChunkGenerator<? extends GenerationSettings> chunkGenerator, IWorld world, long seed, SharedSeedRandom random, BlockPos pos)
     {
         int featureCount = 0;
+        boolean profile = BiomeDataProfiler.isEnabled();
+        boolean budgeted = FeatureCircuitBreaker.isEnabled();
 
         List<ConfiguredFeature<?, ?>> features = new ArrayList<>();
 
@@ -179,15 +326,36 @@ public class BiomeData
         {
             random.setFeatureSeed(seed, featureCount, stage.ordinal());
 
-            try
-            {
-                feature.place(world, chunkGenerator, random, pos);
-            }
-            catch(Exception exception)
+            if(!budgeted || !FeatureCircuitBreaker.isTripped(this.biome, stage, feature))
             {
-                CrashReport crashReport = CrashReport.makeCrashReport(exception, "Feature placement");
-                crashReport.makeCategory("Feature").addDetail("Id", feature.feature.getRegistryName()).addDetail("Description", feature.feature.toString());
-                throw new ReportedException(crashReport);
+                try
+                {
+                    if(profile || budgeted)
+                    {
+                        long startTime = System.nanoTime();
+                        boolean placed = feature.place(world, chunkGenerator, random, pos);
+                        long elapsedTime = System.nanoTime() - startTime;
+
+                        if(profile)
+                        {
+                            BiomeDataProfiler.recordFeature(this.biome, stage, feature, elapsedTime, placed);
+                        }
+                        if(budgeted)
+                        {
+                            FeatureCircuitBreaker.record(this.biome, stage, feature, elapsedTime);
+                        }
+                    }
+                    else
+                    {
+                        feature.place(world, chunkGenerator, random, pos);
+                    }
+                }
+                catch(Exception exception)
+                {
+                    CrashReport crashReport = CrashReport.makeCrashReport(exception, "Feature placement");
+                    crashReport.makeCategory("Feature").addDetail("Id", feature.feature.getRegistryName()).addDetail("Description", feature.feature.toString());
+                    throw new ReportedException(crashReport);
+                }
             }
 
             featureCount++;
@@ -196,9 +364,24 @@ public class BiomeData
 
     public <C extends IFeatureConfig> boolean hasStructure(Structure<C> structure)
     {
+        int structureId = StructureIndex.getId(structure);
+
+        if(structureId >= 0)
+        {
+            return this.hasStructure(structureId);
+        }
+
+        this.decodeGenerationData();
         return this.structures.containsKey(structure) ? true : this.useDefaultStructures ? this.biome.hasStructure(structure) : false;
     }
 
+    public boolean hasStructure(int structureId)
+    {
+        long[] structureMask = this.getStructureTable().structureMask;
+        int maskIndex = structureId >>> 6;
+        return maskIndex < structureMask.length && (structureMask[maskIndex] & (1L << structureId)) != 0L;
+    }
+
     public Biome getBiome()
     {
         return this.biome;
@@ -263,30 +446,201 @@ public class BiomeData
 
     public List<Biome.SpawnListEntry> getSpawns(EntityClassification classification)
     {
-        return this.spawns.computeIfAbsent(classification, k -> new ArrayList<>());
+        return Collections.unmodifiableList(this.spawns.getOrDefault(classification, Collections.emptyList()));
+    }
+
+    public AliasTable<Biome.SpawnListEntry> getSpawnTable(EntityClassification classification)
+    {
+        SpawnTable spawnTable = this.spawnTable;
+
+        if(spawnTable == null || !spawnTable.isCurrent(this, classification))
+        {
+            spawnTable = new SpawnTable(this);
+            this.spawnTable = spawnTable;
+        }
+
+        return spawnTable.tables.get(classification);
+    }
+
+    /**
+     * Picks a spawn entry in constant time. The vanilla natural spawner still draws from
+     * {@link Biome#getSpawns} with {@link net.minecraft.util.WeightedRandom}, so this is only
+     * used by spawners that call it directly, such as a chunk generator's own spawning.
+     */
+    public Biome.SpawnListEntry getRandomSpawn(EntityClassification classification, Random random)
+    {
+        return this.getSpawnTable(classification).get(random);
+    }
+
+    public int getTotalSpawnWeight(EntityClassification classification)
+    {
+        return this.getSpawnTable(classification).getTotalWeight();
     }
 
     public List<ConfiguredCarver<?>> getCarvers(GenerationStage.Carving stage)
     {
+        this.decodeGenerationData();
         return this.carvers.computeIfAbsent(stage, k -> new ArrayList<>());
     }
 
+    public int getCarverRange(GenerationStage.Carving stage, int index)
+    {
+        List<ConfiguredCarver<?>> carvers = this.getCarvers(stage);
+        IntList carverRanges = this.carverRanges.get(stage);
+
+        if(carverRanges != null && index < carverRanges.size() && carverRanges.getInt(index) >= 0)
+        {
+            return carverRanges.getInt(index);
+        }
+
+        return this.getCarverRange(carvers.get(index));
+    }
+
+    public int getCarverRange(ConfiguredCarver<?> carver)
+    {
+        if(carver.carver instanceof IRangedCarver)
+        {
+            return MathHelper.clamp(((IRangedCarver) carver.carver).getChunkRange(), 0, IRangedCarver.MAX_CHUNK_RANGE);
+        }
+
+        return IRangedCarver.MAX_CHUNK_RANGE;
+    }
+
     public List<ConfiguredFeature<?, ?>> getFeatures(GenerationStage.Decoration stage)
     {
+        this.decodeGenerationData();
         return this.features.computeIfAbsent(stage, k -> new ArrayList<>());
     }
 
     public <C extends IFeatureConfig> C getStructureConfig(Structure<C> structure)
     {
-        IFeatureConfig config = this.structures.get(structure);
+        StructureTable structureTable = this.getStructureTable();
+        IFeatureConfig config = structureTable.structureConfigs.get(structure);
+
+        if(config != null || StructureIndex.getId(structure) >= 0)
+        {
+            return (C) config;
+        }
+
+        config = this.structures.get(structure);
         return config != null ? (C) config : this.useDefaultStructures ? this.biome.getStructureConfig(structure) : null;
     }
 
+    private StructureTable getStructureTable()
+    {
+        StructureTable structureTable = this.structureTable;
+
+        if(structureTable == null)
+        {
+            this.decodeGenerationData();
+            structureTable = new StructureTable(this);
+            this.structureTable = structureTable;
+        }
+
+        return structureTable;
+    }
+
     public List<BiomeData> getSubBiomes()
     {
         return this.subBiomes;
     }
 
+    public AliasTable<BiomeData> getSubBiomeTable()
+    {
+        AliasTable<BiomeData> subBiomeTable = this.subBiomeTable;
+
+        if(subBiomeTable == null)
+        {
+            subBiomeTable = AliasTable.create(this.subBiomes, BiomeData::getGenerationWeight);
+            this.subBiomeTable = subBiomeTable;
+        }
+
+        return subBiomeTable;
+    }
+
+    public BiomeData getRandomSubBiome(INoiseRandom random)
+    {
+        return this.getSubBiomeTable().get(random);
+    }
+
+    public BiomeData getRandomSubBiome(Random random)
+    {
+        return this.getSubBiomeTable().get(random);
+    }
+
+    private static class SpawnTable
+    {
+        private final Map<EntityClassification, AliasTable<Biome.SpawnListEntry>> tables;
+        private final int[] defaultSpawnCounts;
+        private final boolean useDefaultEntities;
+
+        private SpawnTable(BiomeData biomeData)
+        {
+            this.tables = new EnumMap<>(EntityClassification.class);
+            this.defaultSpawnCounts = new int[EntityClassification.values().length];
+            this.useDefaultEntities = biomeData.useDefaultEntities;
+
+            for(EntityClassification classification : EntityClassification.values())
+            {
+                List<Biome.SpawnListEntry> spawns = new ArrayList<>(biomeData.spawns.getOrDefault(classification, Collections.emptyList()));
+
+                if(this.useDefaultEntities)
+                {
+                    List<Biome.SpawnListEntry> defaultSpawns = biomeData.biome.getSpawns(classification);
+                    this.defaultSpawnCounts[classification.ordinal()] = defaultSpawns.size();
+                    spawns.addAll(defaultSpawns);
+                }
+
+                this.tables.put(classification, AliasTable.create(spawns, entry -> entry.itemWeight));
+            }
+        }
+
+        private boolean isCurrent(BiomeData biomeData, EntityClassification classification)
+        {
+            if(this.useDefaultEntities != biomeData.useDefaultEntities)
+            {
+                return false;
+            }
+
+            return !this.useDefaultEntities || biomeData.biome.getSpawns(classification).size() == this.defaultSpawnCounts[classification.ordinal()];
+        }
+    }
+
+    private static class StructureTable
+    {
+        private final Map<Structure<?>, IFeatureConfig> structureConfigs;
+        private final long[] structureMask;
+
+        private StructureTable(BiomeData biomeData)
+        {
+            this.structureConfigs = new IdentityHashMap<>();
+            this.structureMask = new long[(StructureIndex.getStructureCount() + 63) >>> 6];
+
+            if(biomeData.useDefaultStructures)
+            {
+                for(Structure<?> structure : StructureIndex.getStructures())
+                {
+                    if(biomeData.biome.hasStructure(structure))
+                    {
+                        this.structureConfigs.put(structure, biomeData.biome.getStructureConfig(structure));
+                    }
+                }
+            }
+
+            this.structureConfigs.putAll(biomeData.structures);
+
+            for(Structure<?> structure : this.structureConfigs.keySet())
+            {
+                int structureId = StructureIndex.getId(structure);
+
+                if(structureId >= 0)
+                {
+                    this.structureMask[structureId >>> 6] |= 1L << structureId;
+                }
+            }
+        }
+    }
+
     public enum BlockType
     {
         SURFACE_BLOCK("surface"),
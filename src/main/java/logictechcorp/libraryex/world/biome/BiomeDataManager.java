@@ -22,19 +22,21 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mojang.datafixers.Dynamic;
+import com.mojang.datafixers.OptionalDynamic;
 import com.mojang.datafixers.types.JsonOps;
 import logictechcorp.libraryex.LibraryEx;
+import logictechcorp.libraryex.utility.AliasTable;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.resources.JsonReloadListener;
 import net.minecraft.entity.EntityType;
 import net.minecraft.profiler.IProfiler;
-import net.minecraft.resources.IResource;
 import net.minecraft.resources.IResourceManager;
 import net.minecraft.util.JSONUtils;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.gen.GenerationStage;
+import net.minecraft.world.gen.INoiseRandom;
 import net.minecraft.world.gen.carver.ConfiguredCarver;
 import net.minecraft.world.gen.carver.ICarverConfig;
 import net.minecraft.world.gen.carver.WorldCarver;
@@ -43,15 +45,9 @@ import net.minecraft.world.gen.feature.structure.Structure;
 import net.minecraft.world.gen.placement.ConfiguredPlacement;
 import net.minecraftforge.common.BiomeManager;
 import net.minecraftforge.registries.ForgeRegistries;
-import org.apache.commons.io.IOUtils;
-
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,6 +58,8 @@ public class BiomeDataManager extends JsonReloadListener
     private final Map<ResourceLocation, BiomeData> biomeData;
     private final Map<ResourceLocation, List<String>> subBiomeData;
     private final Map<ResourceLocation, BiomeManager.BiomeEntry> biomeEntries;
+    private volatile AliasTable<BiomeManager.BiomeEntry> biomeEntryTable;
+    private volatile BiomeData[] biomeDataById;
 
     public BiomeDataManager(String folderName)
     {
@@ -69,6 +67,7 @@ public class BiomeDataManager extends JsonReloadListener
         this.biomeData = new HashMap<>();
         this.subBiomeData = new HashMap<>();
         this.biomeEntries = new HashMap<>();
+        this.rebuildLookups();
     }
 
     public BiomeDataManager()
@@ -79,136 +78,172 @@ public class BiomeDataManager extends JsonReloadListener
     @Override
     protected void apply(Map<ResourceLocation, JsonObject> locations, IResourceManager resourceManager, IProfiler profiler)
     {
-        locations.forEach(((resourceLocation, object) ->
+        DefinitionInterner interner = new DefinitionInterner();
+        locations.forEach((resourceLocation, object) ->
         {
-            try
+            Dynamic<JsonElement> rootDynamic = new Dynamic<>(JsonOps.INSTANCE, object);
+
+            if(rootDynamic.getValue() == null)
             {
-                IResource resource = resourceManager.getResource(this.getPreparedPath(resourceLocation));
-                InputStream inputStream = resource.getInputStream();
-                Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-                Dynamic<JsonElement> rootDynamic = new Dynamic<>(JsonOps.INSTANCE, JSONUtils.fromJson(GSON, reader, JsonObject.class));
-                IOUtils.closeQuietly(reader);
-                IOUtils.closeQuietly(resource);
-
-                if(rootDynamic.getValue() == null)
-                {
-                    LibraryEx.LOGGER.error("Couldn't load {} biome config from {} data pack.", resource.getLocation(), resource.getPackName());
-                }
-                else
+                LibraryEx.LOGGER.error("Couldn't load {} biome config.", resourceLocation);
+            }
+            else
+            {
+                Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(rootDynamic.get("biome").asString("")));
+
+                if(biome != null)
                 {
-                    Biome biome = ForgeRegistries.BIOMES.getValue(new ResourceLocation(rootDynamic.get("biome").asString("")));
+                    ResourceLocation biomeName = biome.getRegistryName();
+                    int generationWeight = rootDynamic.get("generation_weight").asInt(10);
 
-                    if(biome != null)
+                    if(generationWeight > 0)
                     {
-                        ResourceLocation biomeName = biome.getRegistryName();
-                        int generationWeight = rootDynamic.get("generation_weight").asInt(10);
+                        JsonObject rootObject = rootDynamic.getValue().getAsJsonObject();
+                        boolean useDefaultEntities = JSONUtils.getBoolean(rootObject, "use_default_entities", true);
+                        boolean useDefaultCarvers = JSONUtils.getBoolean(rootObject, "use_default_carvers", true);
+                        boolean useDefaultFeatures = JSONUtils.getBoolean(rootObject, "use_default_features", true);
+                        boolean useDefaultStructures = JSONUtils.getBoolean(rootObject, "use_default_structures", true);
+                        boolean isSubBiome = rootDynamic.getValue().getAsJsonObject().get("is_sub_biome").getAsBoolean();
+                        Map<BiomeData.BlockType, BlockState> blocks = rootDynamic.get("blocks").asMap(BiomeData.BlockType::deserialize, BlockState::deserialize);
+                        List<Biome.SpawnListEntry> entities = rootDynamic.get("entities").asList(entityDynamic ->
+                        {
+                            EntityType<?> entityType = ForgeRegistries.ENTITIES.getValue(new ResourceLocation(entityDynamic.get("type").asString("minecraft:pig")));
+                            int spawnWeight = entityDynamic.get("spawn_weight").asInt(10);
+                            int minimumGroupCount = entityDynamic.get("minimum_group_count").asInt(1);
+                            int maximumGroupCount = entityDynamic.get("maximum_group_count").asInt(4);
+                            return new Biome.SpawnListEntry(entityType, spawnWeight, minimumGroupCount, maximumGroupCount);
+                        });
+                        OptionalDynamic<JsonElement> carversDynamic = rootDynamic.get("carvers");
+                        OptionalDynamic<JsonElement> featuresDynamic = rootDynamic.get("features");
+                        OptionalDynamic<JsonElement> structuresDynamic = rootDynamic.get("structures");
+                        List<String> subBiomes = rootDynamic.get("sub_biomes").asList(subBiomeDynamic -> subBiomeDynamic.asString(""));
+
+                        BiomeData biomeData = this.createBiomeData(biome, generationWeight, useDefaultEntities, useDefaultCarvers, useDefaultFeatures, useDefaultStructures, isSubBiome);
+                        blocks.forEach(biomeData::addBiomeBlock);
+                        biomeData.addEntitySpawns(entities);
+                        biomeData.setGenerationDataDecoder(data -> this.decodeGenerationData(data, interner, carversDynamic, featuresDynamic, structuresDynamic));
+                        this.biomeData.put(biomeName, biomeData);
+                        this.subBiomeData.put(biomeName, subBiomes);
 
-                        if(generationWeight > 0)
+                        if(!biomeData.isSubBiome())
                         {
-                            JsonObject rootObject = rootDynamic.getValue().getAsJsonObject();
-                            boolean useDefaultEntities = JSONUtils.getBoolean(rootObject, "use_default_entities", true);
-                            boolean useDefaultCarvers = JSONUtils.getBoolean(rootObject, "use_default_carvers", true);
-                            boolean useDefaultFeatures = JSONUtils.getBoolean(rootObject, "use_default_features", true);
-                            boolean useDefaultStructures = JSONUtils.getBoolean(rootObject, "use_default_structures", true);
-                            boolean isSubBiome = rootDynamic.getValue().getAsJsonObject().get("is_sub_biome").getAsBoolean();
-                            Map<BiomeData.BlockType, BlockState> blocks = rootDynamic.get("blocks").asMap(BiomeData.BlockType::deserialize, BlockState::deserialize);
-                            List<Biome.SpawnListEntry> entities = rootDynamic.get("entities").asList(entityDynamic ->
-                            {
-                                EntityType<?> entityType = ForgeRegistries.ENTITIES.getValue(new ResourceLocation(entityDynamic.get("type").asString("minecraft:pig")));
-                                int spawnWeight = entityDynamic.get("spawn_weight").asInt(10);
-                                int minimumGroupCount = entityDynamic.get("minimum_group_count").asInt(1);
-                                int maximumGroupCount = entityDynamic.get("maximum_group_count").asInt(4);
-                                return new Biome.SpawnListEntry(entityType, spawnWeight, minimumGroupCount, maximumGroupCount);
-                            });
-                            Map<Dynamic<?>, ConfiguredCarver<?>> carvers = rootDynamic.get("carvers").asStream().collect(Collectors.toMap(Function.identity(), carversDynamic ->
-                            {
-                                WorldCarver<ICarverConfig> configuredCarver = (WorldCarver<ICarverConfig>) Registry.CARVER.getOrDefault(new ResourceLocation(carversDynamic.get("carver").orElseEmptyMap().get("name").asString("")));
-                                ProbabilityConfig carverConfig = ProbabilityConfig.deserialize(carversDynamic.get("decorator").orElseEmptyMap().get("config").orElseEmptyMap());
-                                return new ConfiguredCarver<>(configuredCarver, carverConfig);
-                            }));
-                            Map<Dynamic<?>, ConfiguredFeature<?, ?>> features = rootDynamic.get("features").asStream().collect(Collectors.toMap(Function.identity(), featuresDynamic ->
-                            {
-                                ConfiguredFeature<?, ?> configuredFeature = ConfiguredFeature.deserialize(featuresDynamic.get("feature").orElseEmptyMap());
-                                ConfiguredPlacement<?> configuredPlacement = ConfiguredPlacement.deserialize(featuresDynamic.get("decorator").orElseEmptyMap());
-                                return new ConfiguredFeature<>(Feature.DECORATED, new DecoratedFeatureConfig(configuredFeature, configuredPlacement));
-                            }));
-                            Map<Dynamic<?>, ConfiguredFeature<?, ?>> structures = rootDynamic.get("structures").asStream().collect(Collectors.toMap(Function.identity(), structuresDynamic ->
-                            {
-                                ConfiguredFeature<?, ?> configuredFeature = ConfiguredFeature.deserialize(structuresDynamic.get("structure").orElseEmptyMap());
-                                ConfiguredPlacement<?> configuredPlacement = ConfiguredPlacement.deserialize(structuresDynamic.get("decorator").orElseEmptyMap());
-                                return new ConfiguredFeature<>(Feature.DECORATED, new DecoratedFeatureConfig(configuredFeature, configuredPlacement));
-                            }));
-                            List<String> subBiomes = rootDynamic.get("sub_biomes").asList(subBiomeDynamic -> subBiomeDynamic.asString(""));
-
-                            BiomeData biomeData = this.createBiomeData(biome, generationWeight, useDefaultEntities, useDefaultCarvers, useDefaultFeatures, useDefaultStructures, isSubBiome);
-                            blocks.forEach(biomeData::addBiomeBlock);
-                            entities.forEach(biomeData::addEntitySpawn);
-                            carvers.forEach(((carverDynamic, configuredCarver) ->
-                            {
-                                GenerationStage.Carving stage = Stream.of(GenerationStage.Carving.values())
-                                        .filter(value -> value.getName().equalsIgnoreCase(carverDynamic.get("stage").asString("").toUpperCase()))
-                                        .findAny().orElse(GenerationStage.Carving.AIR);
-                                biomeData.addCarver(stage, configuredCarver);
-                            }));
-                            features.forEach((featureDynamic, configuredFeature) ->
-                            {
-                                GenerationStage.Decoration stage = Stream.of(GenerationStage.Decoration.values())
-                                        .filter(value -> value.getName().equalsIgnoreCase(featureDynamic.get("stage").asString("").toUpperCase()))
-                                        .findAny().orElse(GenerationStage.Decoration.RAW_GENERATION);
-                                biomeData.addFeature(stage, configuredFeature);
-                            });
-                            structures.forEach((featureDynamic, configuredFeature) ->
-                            {
-                                DecoratedFeatureConfig decoratedFeatureConfig = (DecoratedFeatureConfig) configuredFeature.config;
-                                Feature<?> feature = decoratedFeatureConfig.feature.feature;
-                                IFeatureConfig config = decoratedFeatureConfig.feature.config;
-
-                                if(feature instanceof Structure<?>)
-                                {
-                                    Structure<?> structure = (Structure<?>) feature;
-                                    biomeData.addStructure(structure, config);
-                                    GenerationStage.Decoration stage = Stream.of(GenerationStage.Decoration.values())
-                                            .filter(value -> value.getName().equalsIgnoreCase(featureDynamic.get("stage").asString("").toUpperCase()))
-                                            .findAny().orElse(GenerationStage.Decoration.RAW_GENERATION);
-                                    biomeData.addFeature(stage, configuredFeature);
-                                }
-                            });
-                            this.biomeData.put(biomeName, biomeData);
-                            this.subBiomeData.put(biomeName, subBiomes);
-
-                            if(!biomeData.isSubBiome())
-                            {
-                                this.biomeEntries.put(biomeName, new BiomeManager.BiomeEntry(biome, generationWeight));
-                            }
+                            this.biomeEntries.put(biomeName, new BiomeManager.BiomeEntry(biome, generationWeight));
                         }
                     }
                 }
+            }
+        });
 
-                for(Map.Entry<ResourceLocation, List<String>> entry : this.subBiomeData.entrySet())
+        for(Map.Entry<ResourceLocation, List<String>> entry : this.subBiomeData.entrySet())
+        {
+            BiomeData biomeData = this.biomeData.get(entry.getKey());
+
+            if(biomeData != null)
+            {
+                for(String subBiomeName : entry.getValue())
                 {
-                    BiomeData biomeData = this.biomeData.get(entry.getKey());
+                    BiomeData subBiomeData = this.biomeData.get(new ResourceLocation(subBiomeName));
 
-                    if(biomeData != null)
+                    if(subBiomeData != null && !biomeData.getSubBiomes().contains(subBiomeData))
                     {
-                        for(String subBiomeName : entry.getValue())
-                        {
-                            BiomeData subBiomeData = this.biomeData.get(new ResourceLocation(subBiomeName));
-
-                            if(subBiomeData != null)
-                            {
-                                biomeData.addSubBiome(subBiomeData);
-                            }
-                        }
+                        biomeData.addSubBiome(subBiomeData);
                     }
                 }
+            }
+        }
+
+        this.biomeData.forEach((location, biomeData) ->
+        {
+            biomeData.configureBiome();
+            biomeData.bake();
+        });
+
+        FeatureCircuitBreaker.reset(this.biomeData.values().stream().map(BiomeData::getBiome).collect(Collectors.toList()));
+        this.rebuildLookups();
+    }
+
+    protected void decodeGenerationData(BiomeData data, DefinitionInterner interner, OptionalDynamic<JsonElement> carversDynamic, OptionalDynamic<JsonElement> featuresDynamic, OptionalDynamic<JsonElement> structuresDynamic)
+    {
+        ResourceLocation biomeName = data.getBiome().getRegistryName();
+        Map<Dynamic<?>, ConfiguredCarver<?>> carvers = new HashMap<>();
+        Map<Dynamic<?>, ConfiguredFeature<?, ?>> features = new HashMap<>();
+        Map<Dynamic<?>, ConfiguredFeature<?, ?>> structures = new HashMap<>();
+
+        carversDynamic.asStream().forEach(carverDynamic ->
+        {
+            try
+            {
+                carvers.put(carverDynamic, interner.internCarver(carverDynamic.get("carver").orElseEmptyMap(), carverDynamic.get("decorator").orElseEmptyMap()));
+            }
+            catch(RuntimeException e)
+            {
+                LibraryEx.LOGGER.error("Skipping a carver of the {} biome config that couldn't be decoded: {}", biomeName, carverDynamic.getValue(), e);
+            }
+        });
+        featuresDynamic.asStream().forEach(featureDynamic ->
+        {
+            try
+            {
+                features.put(featureDynamic, interner.internDecoratedFeature(featureDynamic.get("feature").orElseEmptyMap(), featureDynamic.get("decorator").orElseEmptyMap()));
+            }
+            catch(RuntimeException e)
+            {
+                LibraryEx.LOGGER.error("Skipping a feature of the {} biome config that couldn't be decoded: {}", biomeName, featureDynamic.getValue(), e);
+            }
+        });
+        structuresDynamic.asStream().forEach(structureDynamic ->
+        {
+            try
+            {
+                ConfiguredFeature<?, ?> configuredFeature = interner.internDecoratedFeature(structureDynamic.get("structure").orElseEmptyMap(), structureDynamic.get("decorator").orElseEmptyMap());
+
+                if(((DecoratedFeatureConfig) configuredFeature.config).feature.feature instanceof Structure<?>)
+                {
+                    structures.put(structureDynamic, configuredFeature);
+                }
+                else
+                {
+                    LibraryEx.LOGGER.error("Skipping a structure of the {} biome config that isn't a structure: {}", biomeName, structureDynamic.getValue());
+                }
+            }
+            catch(RuntimeException e)
+            {
+                LibraryEx.LOGGER.error("Skipping a structure of the {} biome config that couldn't be decoded: {}", biomeName, structureDynamic.getValue(), e);
+            }
+        });
 
-                this.biomeData.forEach((location, biomeData) -> biomeData.configureBiome());
+        carvers.forEach(((carverDynamic, configuredCarver) ->
+        {
+            GenerationStage.Carving stage = Stream.of(GenerationStage.Carving.values())
+                    .filter(value -> value.getName().equalsIgnoreCase(carverDynamic.get("stage").asString("").toUpperCase()))
+                    .findAny().orElse(GenerationStage.Carving.AIR);
+            Optional<Number> chunkRange = carverDynamic.get("range").asNumber();
+
+            if(chunkRange.isPresent())
+            {
+                data.addCarver(stage, configuredCarver, chunkRange.get().intValue());
             }
-            catch(IOException e)
+            else
             {
-                e.printStackTrace();
+                data.addCarver(stage, configuredCarver);
             }
         }));
+        features.forEach((featureDynamic, configuredFeature) ->
+        {
+            GenerationStage.Decoration stage = Stream.of(GenerationStage.Decoration.values())
+                    .filter(value -> value.getName().equalsIgnoreCase(featureDynamic.get("stage").asString("").toUpperCase()))
+                    .findAny().orElse(GenerationStage.Decoration.RAW_GENERATION);
+            data.addFeature(stage, configuredFeature);
+        });
+        structures.forEach((featureDynamic, configuredFeature) ->
+        {
+            DecoratedFeatureConfig decoratedFeatureConfig = (DecoratedFeatureConfig) configuredFeature.config;
+            data.addStructure((Structure<?>) decoratedFeatureConfig.feature.feature, decoratedFeatureConfig.feature.config);
+            GenerationStage.Decoration stage = Stream.of(GenerationStage.Decoration.values())
+                    .filter(value -> value.getName().equalsIgnoreCase(featureDynamic.get("stage").asString("").toUpperCase()))
+                    .findAny().orElse(GenerationStage.Decoration.RAW_GENERATION);
+            data.addFeature(stage, configuredFeature);
+        });
     }
 
     public BiomeData createBiomeData(Biome biome, int generationWeight, boolean useDefaultEntities, boolean useDefaultCarvers, boolean useDefaultFeatures, boolean useDefaultStructures, boolean isSubBiome)
@@ -229,6 +264,7 @@ public class BiomeDataManager extends JsonReloadListener
             this.biomeEntries.put(biomeName, new BiomeManager.BiomeEntry(biome, biomeData.getGenerationWeight()));
         }
 
+        this.rebuildLookups();
         return biomeData;
     }
 
@@ -238,6 +274,7 @@ public class BiomeDataManager extends JsonReloadListener
         this.biomeData.remove(biomeName);
         this.subBiomeData.remove(biomeName);
         this.biomeEntries.remove(biomeName);
+        this.rebuildLookups();
     }
 
     public void cleanup()
@@ -246,11 +283,46 @@ public class BiomeDataManager extends JsonReloadListener
         this.biomeData.clear();
         this.subBiomeData.clear();
         this.biomeEntries.clear();
+        this.rebuildLookups();
+    }
+
+    private void rebuildLookups()
+    {
+        this.biomeEntryTable = AliasTable.create(new TreeMap<>(this.biomeEntries).values(), entry -> entry.itemWeight);
+        this.biomeData.forEach((location, biomeData) -> biomeData.getSubBiomeTable());
+
+        int maxBiomeId = -1;
+
+        for(BiomeData biomeData : this.biomeData.values())
+        {
+            maxBiomeId = Math.max(maxBiomeId, Registry.BIOME.getId(biomeData.getBiome()));
+        }
+
+        BiomeData[] biomeDataById = new BiomeData[maxBiomeId + 1];
+        Arrays.fill(biomeDataById, BiomeData.EMPTY);
+
+        for(BiomeData biomeData : this.biomeData.values())
+        {
+            int biomeId = Registry.BIOME.getId(biomeData.getBiome());
+
+            if(biomeId >= 0)
+            {
+                biomeDataById[biomeId] = biomeData;
+            }
+        }
+
+        this.biomeDataById = biomeDataById;
     }
 
     public BiomeData getBiomeData(Biome biome)
     {
-        return this.biomeData.getOrDefault(biome.getRegistryName(), BiomeData.EMPTY);
+        return this.getBiomeData(Registry.BIOME.getId(biome));
+    }
+
+    public BiomeData getBiomeData(int biomeId)
+    {
+        BiomeData[] biomeDataById = this.biomeDataById;
+        return biomeId >= 0 && biomeId < biomeDataById.length ? biomeDataById[biomeId] : BiomeData.EMPTY;
     }
 
     public Map<ResourceLocation, BiomeData> getBiomeData()
@@ -262,4 +334,57 @@ public class BiomeDataManager extends JsonReloadListener
     {
         return Collections.unmodifiableMap(this.biomeEntries);
     }
+
+    public AliasTable<BiomeManager.BiomeEntry> getBiomeEntryTable()
+    {
+        return this.biomeEntryTable;
+    }
+
+    public Biome getRandomBiome(INoiseRandom random)
+    {
+        BiomeManager.BiomeEntry entry = this.biomeEntryTable.get(random);
+        return entry != null ? entry.biome : null;
+    }
+
+    public Biome getRandomBiome(Random random)
+    {
+        BiomeManager.BiomeEntry entry = this.biomeEntryTable.get(random);
+        return entry != null ? entry.biome : null;
+    }
+
+    protected static class DefinitionInterner
+    {
+        private final Map<JsonElement, ConfiguredCarver<?>> internedCarvers = new ConcurrentHashMap<>();
+        private final Map<JsonElement, ConfiguredFeature<?, ?>> internedDecoratedFeatures = new ConcurrentHashMap<>();
+        private final Map<JsonElement, ConfiguredFeature<?, ?>> internedFeatures = new ConcurrentHashMap<>();
+        private final Map<JsonElement, ConfiguredPlacement<?>> internedPlacements = new ConcurrentHashMap<>();
+
+        private ConfiguredCarver<?> internCarver(Dynamic<JsonElement> carverDynamic, Dynamic<JsonElement> decoratorDynamic)
+        {
+            JsonObject key = new JsonObject();
+            key.add("carver", carverDynamic.getValue());
+            key.add("decorator", decoratorDynamic.getValue());
+
+            return this.internedCarvers.computeIfAbsent(key, k ->
+            {
+                WorldCarver<ICarverConfig> configuredCarver = (WorldCarver<ICarverConfig>) Registry.CARVER.getOrDefault(new ResourceLocation(carverDynamic.get("name").asString("")));
+                ProbabilityConfig carverConfig = ProbabilityConfig.deserialize(decoratorDynamic.get("config").orElseEmptyMap());
+                return new ConfiguredCarver<>(configuredCarver, carverConfig);
+            });
+        }
+
+        private ConfiguredFeature<?, ?> internDecoratedFeature(Dynamic<JsonElement> featureDynamic, Dynamic<JsonElement> decoratorDynamic)
+        {
+            JsonObject key = new JsonObject();
+            key.add("feature", featureDynamic.getValue());
+            key.add("decorator", decoratorDynamic.getValue());
+
+            return this.internedDecoratedFeatures.computeIfAbsent(key, k ->
+            {
+                ConfiguredFeature<?, ?> configuredFeature = this.internedFeatures.computeIfAbsent(featureDynamic.getValue(), value -> ConfiguredFeature.deserialize(featureDynamic));
+                ConfiguredPlacement<?> configuredPlacement = this.internedPlacements.computeIfAbsent(decoratorDynamic.getValue(), value -> ConfiguredPlacement.deserialize(decoratorDynamic));
+                return new ConfiguredFeature<>(Feature.DECORATED, new DecoratedFeatureConfig(configuredFeature, configuredPlacement));
+            });
+        }
+    }
 }
@@ -0,0 +1,266 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.world.biome;
+
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.gen.carver.ConfiguredCarver;
+import net.minecraft.world.gen.feature.ConfiguredFeature;
+import net.minecraft.world.gen.feature.DecoratedFeatureConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BiomeDataProfiler
+{
+    private static final Map<Key, Stats> STATS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled)
+    {
+        BiomeDataProfiler.enabled = enabled;
+    }
+
+    public static void reset()
+    {
+        STATS.clear();
+    }
+
+    public static void recordFeature(Biome biome, Enum<?> stage, ConfiguredFeature<?, ?> feature, long nanos, boolean placed)
+    {
+        STATS.computeIfAbsent(new Key(biome, stage, feature), Key::createStats).record(nanos, placed);
+    }
+
+    public static void recordCarver(Biome biome, Enum<?> stage, ConfiguredCarver<?> carver, long nanos, boolean carved)
+    {
+        STATS.computeIfAbsent(new Key(biome, stage, carver), Key::createStats).record(nanos, carved);
+    }
+
+    public static List<Entry> getEntries()
+    {
+        List<Entry> entries = new ArrayList<>();
+        STATS.forEach((key, stats) -> entries.add(new Entry(key, stats)));
+        entries.sort(Comparator.comparingLong(Entry::getTotalNanos).reversed());
+        return entries;
+    }
+
+    public static void dump(Path path) throws IOException
+    {
+        Files.createDirectories(path.getParent());
+
+        try(BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            writer.write("biome,stage,type,target,calls,successes,success_rate,total_ms,average_us,max_us");
+            writer.newLine();
+
+            for(Entry entry : getEntries())
+            {
+                writer.write(String.format("%s,%s,%s,%s,%d,%d,%.4f,%.3f,%.3f,%.3f", entry.getBiomeName(), entry.getStage(), entry.getType(), entry.getTarget(), entry.getCalls(), entry.getSuccesses(), entry.getSuccessRate(), entry.getTotalNanos() / 1.0E6D, entry.getAverageNanos() / 1.0E3D, entry.getMaxNanos() / 1.0E3D));
+                writer.newLine();
+            }
+        }
+    }
+
+    static String describe(Object target)
+    {
+        if(target instanceof ConfiguredFeature<?, ?>)
+        {
+            ConfiguredFeature<?, ?> feature = (ConfiguredFeature<?, ?>) target;
+
+            if(feature.config instanceof DecoratedFeatureConfig)
+            {
+                DecoratedFeatureConfig config = (DecoratedFeatureConfig) feature.config;
+                return describe(config.feature) + "@" + config.decorator.decorator.getRegistryName();
+            }
+
+            return String.valueOf(feature.feature.getRegistryName());
+        }
+        else if(target instanceof ConfiguredCarver<?>)
+        {
+            return String.valueOf(((ConfiguredCarver<?>) target).carver.getRegistryName());
+        }
+
+        return String.valueOf(target);
+    }
+
+    private static class Key
+    {
+        private final Biome biome;
+        private final Enum<?> stage;
+        private final Object target;
+
+        private Key(Biome biome, Enum<?> stage, Object target)
+        {
+            this.biome = biome;
+            this.stage = stage;
+            this.target = target;
+        }
+
+        private Stats createStats()
+        {
+            return new Stats(this.target instanceof ConfiguredCarver<?> ? "carver" : "feature", describe(this.target));
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if(this == object)
+            {
+                return true;
+            }
+            if(!(object instanceof Key))
+            {
+                return false;
+            }
+
+            Key key = (Key) object;
+            return this.biome == key.biome && this.stage == key.stage && this.target == key.target;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(System.identityHashCode(this.biome), this.stage, System.identityHashCode(this.target));
+        }
+    }
+
+    private static class Stats
+    {
+        private final String type;
+        private final String target;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Stats(String type, String target)
+        {
+            this.type = type;
+            this.target = target;
+        }
+
+        private void record(long nanos, boolean success)
+        {
+            this.calls.increment();
+            this.totalNanos.add(nanos);
+
+            if(success)
+            {
+                this.successes.increment();
+            }
+
+            long max = this.maxNanos.get();
+
+            while(nanos > max && !this.maxNanos.compareAndSet(max, nanos))
+            {
+                max = this.maxNanos.get();
+            }
+        }
+    }
+
+    public static class Entry
+    {
+        private final ResourceLocation biomeName;
+        private final String stage;
+        private final String type;
+        private final String target;
+        private final long calls;
+        private final long successes;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Entry(Key key, Stats stats)
+        {
+            this.biomeName = key.biome.getRegistryName();
+            this.stage = key.stage.name().toLowerCase();
+            this.type = stats.type;
+            this.target = stats.target;
+            this.calls = stats.calls.sum();
+            this.successes = stats.successes.sum();
+            this.totalNanos = stats.totalNanos.sum();
+            this.maxNanos = stats.maxNanos.get();
+        }
+
+        public ResourceLocation getBiomeName()
+        {
+            return this.biomeName;
+        }
+
+        public String getStage()
+        {
+            return this.stage;
+        }
+
+        public String getType()
+        {
+            return this.type;
+        }
+
+        public String getTarget()
+        {
+            return this.target;
+        }
+
+        public long getCalls()
+        {
+            return this.calls;
+        }
+
+        public long getSuccesses()
+        {
+            return this.successes;
+        }
+
+        public double getSuccessRate()
+        {
+            return this.calls > 0 ? (double) this.successes / this.calls : 0.0D;
+        }
+
+        public long getTotalNanos()
+        {
+            return this.totalNanos;
+        }
+
+        public long getAverageNanos()
+        {
+            return this.calls > 0 ? this.totalNanos / this.calls : 0L;
+        }
+
+        public long getMaxNanos()
+        {
+            return this.maxNanos;
+        }
+    }
+}
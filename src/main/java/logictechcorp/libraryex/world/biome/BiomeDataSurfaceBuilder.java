@@ -0,0 +1,195 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.world.biome;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.BiomeContainer;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.gen.INoiseGenerator;
+import net.minecraft.world.gen.surfacebuilders.ISurfaceBuilderConfig;
+import net.minecraft.world.gen.surfacebuilders.SurfaceBuilderConfig;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+public class BiomeDataSurfaceBuilder
+{
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+    private static final Set<Heightmap.Type> HEIGHTMAPS = EnumSet.of(Heightmap.Type.WORLD_SURFACE_WG, Heightmap.Type.OCEAN_FLOOR_WG);
+
+    private final BiomeDataManager biomeDataManager;
+
+    public BiomeDataSurfaceBuilder(BiomeDataManager biomeDataManager)
+    {
+        this.biomeDataManager = biomeDataManager;
+    }
+
+    public void buildSurface(IChunk chunk, INoiseGenerator depthNoise, Random random, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed)
+    {
+        ChunkSection[] sections = chunk.getSections();
+        ChunkPrimer primer = chunk instanceof ChunkPrimer ? (ChunkPrimer) chunk : null;
+        BiomeContainer biomes = chunk.getBiomes();
+        Block baseBlock = defaultBlock.getBlock();
+        int chunkX = chunk.getPos().getXStart();
+        int chunkZ = chunk.getPos().getZStart();
+        BlockState[] surfaceBlocks = new BlockState[16];
+        BlockState[] subsurfaceBlocks = new BlockState[16];
+        BlockState[] liquidBlocks = new BlockState[16];
+        BlockState[] underwaterBlocks = new BlockState[16];
+        Biome[] defaultBiomes = new Biome[16];
+
+        for(int quartX = 0; quartX < 4; quartX++)
+        {
+            for(int quartZ = 0; quartZ < 4; quartZ++)
+            {
+                int quartIndex = (quartX << 2) | quartZ;
+                Biome biome = biomes == null ? null : biomes.getNoiseBiome(quartX, 0, quartZ);
+                BiomeData biomeData = biome == null ? BiomeData.EMPTY : this.biomeDataManager.getBiomeData(biome);
+                ISurfaceBuilderConfig surfaceBuilderConfig = biome == null ? null : biome.getSurfaceBuilderConfig();
+
+                if(biomeData == BiomeData.EMPTY)
+                {
+                    defaultBiomes[quartIndex] = biome;
+                    surfaceBlocks[quartIndex] = defaultBlock;
+                    subsurfaceBlocks[quartIndex] = defaultBlock;
+                    liquidBlocks[quartIndex] = defaultFluid;
+                }
+                else
+                {
+                    surfaceBlocks[quartIndex] = biomeData.getBiomeBlock(BiomeData.BlockType.SURFACE_BLOCK);
+                    subsurfaceBlocks[quartIndex] = biomeData.getBiomeBlock(BiomeData.BlockType.SUBSURFACE_BLOCK);
+                    liquidBlocks[quartIndex] = biomeData.getBiomeBlock(BiomeData.BlockType.LIQUID_BLOCK);
+                }
+
+                underwaterBlocks[quartIndex] = surfaceBuilderConfig instanceof SurfaceBuilderConfig ? ((SurfaceBuilderConfig) surfaceBuilderConfig).getUnderWaterMaterial() : subsurfaceBlocks[quartIndex];
+            }
+        }
+
+        for(int x = 0; x < 16; x++)
+        {
+            for(int z = 0; z < 16; z++)
+            {
+                int quartIndex = ((x >> 2) << 2) | (z >> 2);
+                double noise = depthNoise.noiseAt((chunkX + x) * 0.0625D, (chunkZ + z) * 0.0625D, 0.0625D, x * 0.0625D) * 15.0D;
+                int startY = chunk.getTopBlockY(Heightmap.Type.WORLD_SURFACE_WG, x, z) + 1;
+
+                if(defaultBiomes[quartIndex] != null)
+                {
+                    defaultBiomes[quartIndex].buildSurface(random, chunk, chunkX + x, chunkZ + z, startY, noise, defaultBlock, defaultFluid, seaLevel, seed);
+                }
+                else
+                {
+                    this.buildColumn(sections, primer, chunkX + x, chunkZ + z, startY, noise, random, baseBlock, defaultBlock, surfaceBlocks[quartIndex], subsurfaceBlocks[quartIndex], liquidBlocks[quartIndex], underwaterBlocks[quartIndex], seaLevel);
+                }
+            }
+        }
+
+        Heightmap.updateChunkHeightmaps(chunk, HEIGHTMAPS);
+    }
+
+    private void buildColumn(ChunkSection[] sections, ChunkPrimer primer, int posX, int posZ, int startY, double noise, Random random, Block baseBlock, BlockState defaultBlock, BlockState surfaceBlock, BlockState subsurfaceBlock, BlockState liquidBlock, BlockState underwaterBlock, int seaLevel)
+    {
+        int depth = (int) (noise / 3.0D + 3.0D + random.nextDouble() * 0.25D);
+        int remaining = -1;
+        BlockState topBlock = surfaceBlock;
+        BlockState underBlock = subsurfaceBlock;
+        int x = posX & 15;
+        int z = posZ & 15;
+
+        for(int y = Math.min(startY, (sections.length << 4) - 1); y >= 0; y--)
+        {
+            ChunkSection section = sections[y >> 4];
+
+            if(section == null || section.isEmpty())
+            {
+                remaining = -1;
+                y &= ~15;
+                continue;
+            }
+
+            BlockState state = section.getBlockState(x, y & 15, z);
+
+            if(state.isAir())
+            {
+                remaining = -1;
+            }
+            else if(state.getBlock() == baseBlock)
+            {
+                if(remaining == -1)
+                {
+                    if(depth <= 0)
+                    {
+                        topBlock = AIR;
+                        underBlock = defaultBlock;
+                    }
+                    else if(y >= seaLevel - 4 && y <= seaLevel + 1)
+                    {
+                        topBlock = surfaceBlock;
+                        underBlock = subsurfaceBlock;
+                    }
+
+                    if(y < seaLevel && topBlock.isAir())
+                    {
+                        topBlock = liquidBlock;
+                    }
+
+                    remaining = depth;
+
+                    if(y >= seaLevel - 1)
+                    {
+                        this.setBlockState(section, primer, posX, y, posZ, topBlock);
+                    }
+                    else if(y < seaLevel - 7 - depth)
+                    {
+                        topBlock = AIR;
+                        underBlock = defaultBlock;
+                        this.setBlockState(section, primer, posX, y, posZ, underwaterBlock);
+                    }
+                    else
+                    {
+                        this.setBlockState(section, primer, posX, y, posZ, underBlock);
+                    }
+                }
+                else if(remaining > 0)
+                {
+                    remaining--;
+                    this.setBlockState(section, primer, posX, y, posZ, underBlock);
+                }
+            }
+        }
+    }
+
+    private void setBlockState(ChunkSection section, ChunkPrimer primer, int posX, int posY, int posZ, BlockState state)
+    {
+        section.setBlockState(posX & 15, posY & 15, posZ & 15, state, false);
+
+        if(primer != null && state.getLightValue() != 0)
+        {
+            primer.addLightPosition(new BlockPos(posX, posY, posZ));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.world.biome;
+
+import net.minecraft.world.gen.carver.ConfiguredCarver;
+
+public class CarverDecisionCache
+{
+    public static final int UNKNOWN = -1;
+    public static final int SKIP = 0;
+    public static final int CARVE = 1;
+
+    private final Entry[] entries;
+    private final int mask;
+
+    public CarverDecisionCache(int size)
+    {
+        int capacity = Integer.highestOneBit(Math.max(size, 16) - 1) << 1;
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int getDecision(long seed, int index, ConfiguredCarver<?> carver, int posX, int posZ)
+    {
+        Entry entry = this.entries[this.getSlot(seed, index, carver, posX, posZ)];
+
+        if(entry != null && entry.matches(seed, index, carver, posX, posZ))
+        {
+            return entry.carve ? CARVE : SKIP;
+        }
+
+        return UNKNOWN;
+    }
+
+    public void putDecision(long seed, int index, ConfiguredCarver<?> carver, int posX, int posZ, boolean carve)
+    {
+        this.entries[this.getSlot(seed, index, carver, posX, posZ)] = new Entry(seed, index, carver, posX, posZ, carve);
+    }
+
+    private int getSlot(long seed, int index, ConfiguredCarver<?> carver, int posX, int posZ)
+    {
+        long hash = seed * 0x9E3779B97F4A7C15L;
+        hash ^= System.identityHashCode(carver) * 0xC2B2AE3D27D4EB4FL;
+        hash ^= ((long) posX * 0x165667B19E3779F9L) ^ ((long) posZ * 0x27D4EB2F165667C5L) ^ index;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 32;
+        return (int) hash & this.mask;
+    }
+
+    private static class Entry
+    {
+        private final long seed;
+        private final int index;
+        private final ConfiguredCarver<?> carver;
+        private final int posX;
+        private final int posZ;
+        private final boolean carve;
+
+        private Entry(long seed, int index, ConfiguredCarver<?> carver, int posX, int posZ, boolean carve)
+        {
+            this.seed = seed;
+            this.index = index;
+            this.carver = carver;
+            this.posX = posX;
+            this.posZ = posZ;
+            this.carve = carve;
+        }
+
+        private boolean matches(long seed, int index, ConfiguredCarver<?> carver, int posX, int posZ)
+        {
+            return this.seed == seed && this.index == index && this.carver == carver && this.posX == posX && this.posZ == posZ;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.world.biome;
+
+import logictechcorp.libraryex.LibraryEx;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.gen.feature.ConfiguredFeature;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FeatureCircuitBreaker
+{
+    private static final Map<Key, Record> RECORDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger TRIPPED_COUNT = new AtomicInteger();
+    private static volatile long budgetNanos;
+    private static volatile int strikeLimit = 5;
+    private static volatile boolean disableSlowFeatures;
+
+    public static void configure(int budgetMillis, int strikeLimit, boolean disableSlowFeatures)
+    {
+        FeatureCircuitBreaker.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        FeatureCircuitBreaker.strikeLimit = strikeLimit;
+        FeatureCircuitBreaker.disableSlowFeatures = disableSlowFeatures;
+    }
+
+    public static boolean isEnabled()
+    {
+        return budgetNanos > 0L;
+    }
+
+    public static boolean isTripped(Biome biome, Enum<?> stage, ConfiguredFeature<?, ?> feature)
+    {
+        if(TRIPPED_COUNT.get() == 0)
+        {
+            return false;
+        }
+
+        Record record = RECORDS.get(new Key(biome, stage, feature));
+        return record != null && record.tripped;
+    }
+
+    public static void record(Biome biome, Enum<?> stage, ConfiguredFeature<?, ?> feature, long nanos)
+    {
+        long budget = budgetNanos;
+
+        if(budget <= 0L)
+        {
+            return;
+        }
+
+        if(nanos <= budget)
+        {
+            if(!RECORDS.isEmpty())
+            {
+                Record record = RECORDS.get(new Key(biome, stage, feature));
+
+                if(record != null)
+                {
+                    synchronized(record)
+                    {
+                        record.consecutiveStrikes = 0;
+                    }
+                }
+            }
+            return;
+        }
+
+        Record record = RECORDS.computeIfAbsent(new Key(biome, stage, feature), Record::new);
+
+        synchronized(record)
+        {
+            record.strikes++;
+            record.consecutiveStrikes++;
+
+            if(nanos > record.worstNanos)
+            {
+                record.worstNanos = nanos;
+            }
+
+            if(record.consecutiveStrikes == strikeLimit)
+            {
+                LibraryEx.LOGGER.warn("Feature {} in biome {} exceeded its time budget of {} ms {} times in a row, the slowest placement took {} ms.", record.target, record.biomeName, TimeUnit.NANOSECONDS.toMillis(budget), record.consecutiveStrikes, TimeUnit.NANOSECONDS.toMillis(record.worstNanos));
+
+                if(disableSlowFeatures && !record.tripped)
+                {
+                    record.tripped = true;
+                    TRIPPED_COUNT.incrementAndGet();
+                    LibraryEx.LOGGER.warn("Feature {} has been disabled in biome {} for the rest of the session.", record.target, record.biomeName);
+                }
+            }
+        }
+    }
+
+    public static void reset()
+    {
+        RECORDS.clear();
+        TRIPPED_COUNT.set(0);
+    }
+
+    public static void reset(Collection<Biome> biomes)
+    {
+        Set<Biome> biomeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        biomeSet.addAll(biomes);
+        RECORDS.entrySet().removeIf(entry ->
+        {
+            if(!biomeSet.contains(entry.getKey().biome))
+            {
+                return false;
+            }
+
+            if(entry.getValue().tripped)
+            {
+                TRIPPED_COUNT.decrementAndGet();
+            }
+            return true;
+        });
+    }
+
+    public static List<Report> getReports()
+    {
+        List<Report> reports = new ArrayList<>();
+
+        for(Record record : RECORDS.values())
+        {
+            synchronized(record)
+            {
+                reports.add(new Report(record));
+            }
+        }
+
+        reports.sort(Comparator.comparingInt(Report::getStrikes).reversed());
+        return reports;
+    }
+
+    private static class Key
+    {
+        private final Biome biome;
+        private final Enum<?> stage;
+        private final ConfiguredFeature<?, ?> feature;
+
+        private Key(Biome biome, Enum<?> stage, ConfiguredFeature<?, ?> feature)
+        {
+            this.biome = biome;
+            this.stage = stage;
+            this.feature = feature;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if(this == object)
+            {
+                return true;
+            }
+            if(!(object instanceof Key))
+            {
+                return false;
+            }
+
+            Key key = (Key) object;
+            return this.biome == key.biome && this.stage == key.stage && this.feature == key.feature;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int hash = System.identityHashCode(this.biome);
+            hash = 31 * hash + this.stage.hashCode();
+            return 31 * hash + System.identityHashCode(this.feature);
+        }
+    }
+
+    private static class Record
+    {
+        private final String target;
+        private final ResourceLocation biomeName;
+        private final String stage;
+        private int strikes;
+        private int consecutiveStrikes;
+        private long worstNanos;
+        private volatile boolean tripped;
+
+        private Record(Key key)
+        {
+            this.target = BiomeDataProfiler.describe(key.feature);
+            this.biomeName = key.biome.getRegistryName();
+            this.stage = key.stage.name().toLowerCase();
+        }
+    }
+
+    public static class Report
+    {
+        private final String target;
+        private final ResourceLocation biomeName;
+        private final String stage;
+        private final int strikes;
+        private final long worstNanos;
+        private final boolean tripped;
+
+        private Report(Record record)
+        {
+            this.target = record.target;
+            this.biomeName = record.biomeName;
+            this.stage = record.stage;
+            this.strikes = record.strikes;
+            this.worstNanos = record.worstNanos;
+            this.tripped = record.tripped;
+        }
+
+        public String getTarget()
+        {
+            return this.target;
+        }
+
+        public ResourceLocation getBiomeName()
+        {
+            return this.biomeName;
+        }
+
+        public String getStage()
+        {
+            return this.stage;
+        }
+
+        public int getStrikes()
+        {
+            return this.strikes;
+        }
+
+        public long getWorstNanos()
+        {
+            return this.worstNanos;
+        }
+
+        public boolean isTripped()
+        {
+            return this.tripped;
+        }
+    }
+}
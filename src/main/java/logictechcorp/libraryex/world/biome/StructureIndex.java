@@ -0,0 +1,87 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.world.biome;
+
+import net.minecraft.world.gen.feature.Feature;
+import net.minecraft.world.gen.feature.structure.Structure;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StructureIndex
+{
+    private static volatile StructureIndex instance;
+
+    private final List<Structure<?>> structures;
+    private final Map<Structure<?>, Integer> structureIds;
+
+    private StructureIndex()
+    {
+        this.structures = new ArrayList<>();
+        this.structureIds = new IdentityHashMap<>();
+
+        for(Feature<?> feature : ForgeRegistries.FEATURES.getValues())
+        {
+            if(feature instanceof Structure<?>)
+            {
+                Structure<?> structure = (Structure<?>) feature;
+                this.structureIds.put(structure, this.structures.size());
+                this.structures.add(structure);
+            }
+        }
+    }
+
+    private static StructureIndex getInstance()
+    {
+        StructureIndex index = instance;
+
+        if(index == null)
+        {
+            index = new StructureIndex();
+            instance = index;
+        }
+
+        return index;
+    }
+
+    public static int getId(Structure<?> structure)
+    {
+        Integer id = getInstance().structureIds.get(structure);
+        return id != null ? id : -1;
+    }
+
+    public static Structure<?> getStructure(int id)
+    {
+        return getInstance().structures.get(id);
+    }
+
+    public static List<Structure<?>> getStructures()
+    {
+        return Collections.unmodifiableList(getInstance().structures);
+    }
+
+    public static int getStructureCount()
+    {
+        return getInstance().structures.size();
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.world.generation;
+
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import logictechcorp.libraryex.LibraryEx;
+import logictechcorp.libraryex.world.biome.BiomeDataProfiler;
+import net.minecraft.command.CommandSource;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.server.ServerChunkProvider;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraft.world.server.TicketType;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.event.server.FMLServerStoppingEvent;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class ChunkPregenerator
+{
+    private static final TicketType<ChunkPos> PREGEN_TICKET = TicketType.create(LibraryEx.MOD_ID + ":pregen", Comparator.comparingLong(ChunkPos::asLong));
+    private static final int REPORT_INTERVAL = 100;
+    private static final int PENDING_TIMEOUT = 1200;
+
+    private static ChunkPregenerator activePregenerator;
+
+    private final ServerWorld world;
+    private final CommandSource source;
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final boolean circular;
+    private final int concurrency;
+    private final double memoryCap;
+    private final boolean wasProfiling;
+    private final Map<ResourceLocation, Long> baselineBiomeTimes;
+    private final Long2IntLinkedOpenHashMap pendingChunks;
+    private final long totalChunks;
+    private final long startTime;
+    private long completedChunks;
+    private long failedChunks;
+    private long visitedChunks;
+    private int ring;
+    private int ringIndex;
+    private int ticks;
+    private long lastReportTime;
+    private long lastReportCompleted;
+
+    private ChunkPregenerator(ServerWorld world, CommandSource source, int centerX, int centerZ, int radius, boolean circular, int concurrency, int memoryCap)
+    {
+        this.world = world;
+        this.source = source;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.circular = circular;
+        this.concurrency = concurrency;
+        this.memoryCap = memoryCap / 100.0D;
+        this.wasProfiling = BiomeDataProfiler.isEnabled();
+        this.baselineBiomeTimes = getBiomeTimes();
+        this.pendingChunks = new Long2IntLinkedOpenHashMap();
+        this.totalChunks = this.countChunks();
+        this.startTime = System.nanoTime();
+        this.lastReportTime = this.startTime;
+    }
+
+    public static boolean start(ServerWorld world, CommandSource source, int centerX, int centerZ, int radius, boolean circular, int concurrency, int memoryCap)
+    {
+        if(activePregenerator != null)
+        {
+            return false;
+        }
+
+        activePregenerator = new ChunkPregenerator(world, source, centerX, centerZ, radius, circular, concurrency, memoryCap);
+        BiomeDataProfiler.setEnabled(true);
+        return true;
+    }
+
+    public static boolean stop()
+    {
+        if(activePregenerator == null)
+        {
+            return false;
+        }
+
+        activePregenerator.finish("Pregeneration stopped");
+        return true;
+    }
+
+    public static ChunkPregenerator getActivePregenerator()
+    {
+        return activePregenerator;
+    }
+
+    public static void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if(event.phase == TickEvent.Phase.END && activePregenerator != null)
+        {
+            activePregenerator.tick();
+        }
+    }
+
+    public static void onServerStopping(FMLServerStoppingEvent event)
+    {
+        if(activePregenerator != null)
+        {
+            BiomeDataProfiler.setEnabled(activePregenerator.wasProfiling);
+            activePregenerator = null;
+        }
+    }
+
+    public static void onChunkLoad(ChunkEvent.Load event)
+    {
+        ChunkPregenerator pregenerator = activePregenerator;
+
+        if(pregenerator != null && event.getWorld() == pregenerator.world && event.getChunk() instanceof Chunk)
+        {
+            pregenerator.completeChunk(event.getChunk().getPos());
+        }
+    }
+
+    private void tick()
+    {
+        ServerChunkProvider chunkProvider = this.world.getChunkProvider();
+        int dispatched = 0;
+        this.ticks++;
+
+        while(!this.pendingChunks.isEmpty() && this.ticks - this.pendingChunks.get(this.pendingChunks.firstLongKey()) >= PENDING_TIMEOUT)
+        {
+            ChunkPos chunkPos = new ChunkPos(this.pendingChunks.firstLongKey());
+            this.pendingChunks.removeFirstInt();
+            chunkProvider.releaseTicket(PREGEN_TICKET, chunkPos, 0, chunkPos);
+
+            if(chunkProvider.getChunk(chunkPos.x, chunkPos.z, false) != null)
+            {
+                this.completedChunks++;
+            }
+            else
+            {
+                this.failedChunks++;
+                LibraryEx.LOGGER.warn("Chunk {} wasn't generated within {} ticks, skipping it.", chunkPos, PENDING_TIMEOUT);
+            }
+        }
+
+        while(this.pendingChunks.size() < this.concurrency && dispatched < this.concurrency && this.visitedChunks < this.totalChunks && !this.isMemoryCapped())
+        {
+            ChunkPos chunkPos = this.nextChunk();
+            this.visitedChunks++;
+
+            if(chunkProvider.getChunk(chunkPos.x, chunkPos.z, false) != null)
+            {
+                this.completedChunks++;
+                continue;
+            }
+
+            this.pendingChunks.put(chunkPos.asLong(), this.ticks);
+            chunkProvider.registerTicket(PREGEN_TICKET, chunkPos, 0, chunkPos);
+            dispatched++;
+        }
+
+        if(this.visitedChunks >= this.totalChunks && this.pendingChunks.isEmpty())
+        {
+            this.finish("Pregeneration finished");
+            return;
+        }
+
+        if(this.ticks % REPORT_INTERVAL == 0)
+        {
+            this.source.sendFeedback(new StringTextComponent(this.getStatus()), false);
+        }
+    }
+
+    private void completeChunk(ChunkPos chunkPos)
+    {
+        if(this.pendingChunks.containsKey(chunkPos.asLong()))
+        {
+            this.pendingChunks.remove(chunkPos.asLong());
+            this.world.getChunkProvider().releaseTicket(PREGEN_TICKET, chunkPos, 0, chunkPos);
+            this.completedChunks++;
+        }
+    }
+
+    private void finish(String message)
+    {
+        ServerChunkProvider chunkProvider = this.world.getChunkProvider();
+
+        for(long chunkKey : this.pendingChunks.keySet())
+        {
+            ChunkPos chunkPos = new ChunkPos(chunkKey);
+            chunkProvider.releaseTicket(PREGEN_TICKET, chunkPos, 0, chunkPos);
+        }
+
+        this.pendingChunks.clear();
+        double seconds = (System.nanoTime() - this.startTime) / 1.0E9D;
+        this.source.sendFeedback(new StringTextComponent(String.format("%s: %d/%d chunks in %.1f s (%.1f chunks/s with profiling on), %d timed out.", message, this.completedChunks, this.totalChunks, seconds, seconds > 0.0D ? this.completedChunks / seconds : 0.0D, this.failedChunks)), true);
+        this.source.sendFeedback(new StringTextComponent("Slowest biomes: " + this.getSlowestBiomes(5)), false);
+        BiomeDataProfiler.setEnabled(this.wasProfiling);
+        activePregenerator = null;
+    }
+
+    public String getStatus()
+    {
+        long time = System.nanoTime();
+        double seconds = (time - this.lastReportTime) / 1.0E9D;
+        double chunksPerSecond = seconds > 0.0D ? (this.completedChunks - this.lastReportCompleted) / seconds : 0.0D;
+        this.lastReportTime = time;
+        this.lastReportCompleted = this.completedChunks;
+        long queueDepth = this.totalChunks - this.visitedChunks + this.pendingChunks.size();
+        return String.format("Pregen: %d/%d chunks (%.1f%%), %.1f chunks/s with profiling on, %d queued, %d in flight, %d timed out%s, slowest biomes: %s", this.completedChunks, this.totalChunks, this.totalChunks > 0 ? this.completedChunks * 100.0D / this.totalChunks : 100.0D, chunksPerSecond, queueDepth, this.pendingChunks.size(), this.failedChunks, this.isMemoryCapped() ? ", paused for memory" : "", this.getSlowestBiomes(3));
+    }
+
+    private String getSlowestBiomes(int count)
+    {
+        Map<ResourceLocation, Long> biomeTimes = getBiomeTimes();
+        this.baselineBiomeTimes.forEach((biomeName, time) -> biomeTimes.computeIfPresent(biomeName, (key, value) -> value - time));
+        biomeTimes.values().removeIf(time -> time <= 0L);
+
+        if(biomeTimes.isEmpty())
+        {
+            return "none";
+        }
+
+        return biomeTimes.entrySet().stream()
+                .sorted(Map.Entry.<ResourceLocation, Long>comparingByValue().reversed())
+                .limit(count)
+                .map(entry -> String.format("%s (%.1f ms)", entry.getKey(), entry.getValue() / 1.0E6D))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Map<ResourceLocation, Long> getBiomeTimes()
+    {
+        Map<ResourceLocation, Long> biomeTimes = new HashMap<>();
+
+        for(BiomeDataProfiler.Entry entry : BiomeDataProfiler.getEntries())
+        {
+            biomeTimes.merge(entry.getBiomeName(), entry.getTotalNanos(), Long::sum);
+        }
+
+        return biomeTimes;
+    }
+
+    private boolean isMemoryCapped()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+        return usedMemory > runtime.maxMemory() * this.memoryCap;
+    }
+
+    private ChunkPos nextChunk()
+    {
+        while(true)
+        {
+            int offsetX;
+            int offsetZ;
+
+            if(this.ring == 0)
+            {
+                offsetX = 0;
+                offsetZ = 0;
+                this.ring++;
+            }
+            else
+            {
+                int sideLength = this.ring * 2;
+                int side = this.ringIndex / sideLength;
+                int offset = this.ringIndex % sideLength;
+
+                switch(side)
+                {
+                    case 0:
+                        offsetX = -this.ring + offset;
+                        offsetZ = -this.ring;
+                        break;
+                    case 1:
+                        offsetX = this.ring;
+                        offsetZ = -this.ring + offset;
+                        break;
+                    case 2:
+                        offsetX = this.ring - offset;
+                        offsetZ = this.ring;
+                        break;
+                    default:
+                        offsetX = -this.ring;
+                        offsetZ = this.ring - offset;
+                        break;
+                }
+
+                if(++this.ringIndex >= sideLength * 4)
+                {
+                    this.ringIndex = 0;
+                    this.ring++;
+                }
+            }
+
+            if(this.isInside(offsetX, offsetZ))
+            {
+                return new ChunkPos(this.centerX + offsetX, this.centerZ + offsetZ);
+            }
+        }
+    }
+
+    private boolean isInside(int offsetX, int offsetZ)
+    {
+        return !this.circular || offsetX * offsetX + offsetZ * offsetZ <= this.radius * this.radius;
+    }
+
+    private long countChunks()
+    {
+        if(!this.circular)
+        {
+            long sideLength = this.radius * 2L + 1L;
+            return sideLength * sideLength;
+        }
+
+        long count = 0L;
+
+        for(int offsetX = -this.radius; offsetX <= this.radius; offsetX++)
+        {
+            for(int offsetZ = -this.radius; offsetZ <= this.radius; offsetZ++)
+            {
+                if(this.isInside(offsetX, offsetZ))
+                {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+}
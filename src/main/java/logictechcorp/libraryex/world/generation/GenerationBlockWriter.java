@@ -0,0 +1,210 @@
+/*
+ * LibraryEx
+ * Copyright (c) 2017-2020 by LogicTechCorp
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation version 3 of the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package logictechcorp.libraryex.world.generation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.village.PointOfInterestType;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkPrimerWrapper;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.gen.WorldGenRegion;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+
+public class GenerationBlockWriter
+{
+    private final IWorld world;
+    private final boolean direct;
+    private final Long2ObjectOpenHashMap<DirtyChunk> dirtyChunks = new Long2ObjectOpenHashMap<>();
+    private long lastChunkKey = Long.MIN_VALUE;
+    private DirtyChunk lastChunk;
+
+    public GenerationBlockWriter(IWorld world)
+    {
+        this.world = world;
+        this.direct = world instanceof WorldGenRegion;
+    }
+
+    public IWorld getWorld()
+    {
+        return this.world;
+    }
+
+    public void setBlockState(BlockPos pos, BlockState state, int flags)
+    {
+        if(!this.direct || pos.getY() < 0 || pos.getY() > 255 || !this.writeDirect(pos, state))
+        {
+            this.world.setBlockState(pos, state, flags);
+        }
+    }
+
+    public void flush()
+    {
+        for(DirtyChunk dirtyChunk : this.dirtyChunks.values())
+        {
+            dirtyChunk.updateHeightmaps();
+        }
+
+        this.dirtyChunks.clear();
+        this.lastChunkKey = Long.MIN_VALUE;
+        this.lastChunk = null;
+    }
+
+    private boolean writeDirect(BlockPos pos, BlockState state)
+    {
+        DirtyChunk dirtyChunk = this.getDirtyChunk(pos.getX() >> 4, pos.getZ() >> 4);
+
+        if(dirtyChunk == null || !isSimpleState(state) || state.blockNeedsPostProcessing(this.world, pos))
+        {
+            return false;
+        }
+
+        ChunkSection[] sections = dirtyChunk.chunk.getSections();
+        int sectionIndex = pos.getY() >> 4;
+        ChunkSection section = sections[sectionIndex];
+        int x = pos.getX() & 15;
+        int y = pos.getY() & 15;
+        int z = pos.getZ() & 15;
+
+        if(section == null)
+        {
+            if(state.isAir())
+            {
+                return true;
+            }
+
+            section = new ChunkSection(sectionIndex << 4);
+            sections[sectionIndex] = section;
+        }
+        else if(!isSimpleState(section.getBlockState(x, y, z)))
+        {
+            return false;
+        }
+
+        section.setBlockState(x, y, z, state, false);
+        dirtyChunk.markColumn(x, pos.getY(), z);
+        return true;
+    }
+
+    private DirtyChunk getDirtyChunk(int chunkX, int chunkZ)
+    {
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+
+        if(chunkKey == this.lastChunkKey)
+        {
+            return this.lastChunk;
+        }
+
+        DirtyChunk dirtyChunk = this.dirtyChunks.get(chunkKey);
+
+        if(dirtyChunk == null && !this.dirtyChunks.containsKey(chunkKey))
+        {
+            IChunk chunk = this.world.getChunk(chunkX, chunkZ);
+
+            if(chunk instanceof ChunkPrimer && !(chunk instanceof ChunkPrimerWrapper) && !chunk.getStatus().isAtLeast(ChunkStatus.FEATURES))
+            {
+                dirtyChunk = new DirtyChunk((ChunkPrimer) chunk);
+            }
+
+            this.dirtyChunks.put(chunkKey, dirtyChunk);
+        }
+
+        this.lastChunkKey = chunkKey;
+        this.lastChunk = dirtyChunk;
+        return dirtyChunk;
+    }
+
+    private static boolean isSimpleState(BlockState state)
+    {
+        return !state.hasTileEntity() && state.getLightValue() == 0 && !PointOfInterestType.forState(state).isPresent();
+    }
+
+    private static class DirtyChunk
+    {
+        private final ChunkPrimer chunk;
+        private final int[] minY = new int[256];
+        private final int[] maxY = new int[256];
+
+        private DirtyChunk(ChunkPrimer chunk)
+        {
+            this.chunk = chunk;
+            Arrays.fill(this.minY, Integer.MAX_VALUE);
+            Arrays.fill(this.maxY, -1);
+        }
+
+        private void markColumn(int x, int y, int z)
+        {
+            int index = (z << 4) | x;
+            this.minY[index] = Math.min(this.minY[index], y);
+            this.maxY[index] = Math.max(this.maxY[index], y);
+        }
+
+        private void updateHeightmaps()
+        {
+            ChunkSection[] sections = this.chunk.getSections();
+            EnumSet<Heightmap.Type> presentTypes = EnumSet.noneOf(Heightmap.Type.class);
+            EnumSet<Heightmap.Type> missingTypes = EnumSet.noneOf(Heightmap.Type.class);
+
+            for(Map.Entry<Heightmap.Type, Heightmap> entry : this.chunk.getHeightmaps())
+            {
+                presentTypes.add(entry.getKey());
+            }
+
+            for(Heightmap.Type type : this.chunk.getStatus().getHeightMaps())
+            {
+                if(!presentTypes.contains(type))
+                {
+                    missingTypes.add(type);
+                    continue;
+                }
+
+                Heightmap heightmap = this.chunk.getHeightmap(type);
+
+                for(int index = 0; index < 256; index++)
+                {
+                    int x = index & 15;
+                    int z = index >> 4;
+
+                    for(int y = this.maxY[index]; y >= this.minY[index]; y--)
+                    {
+                        ChunkSection section = sections[y >> 4];
+                        heightmap.update(x, y, z, section == null ? Blocks.AIR.getDefaultState() : section.getBlockState(x, y & 15, z));
+                    }
+                }
+            }
+
+            if(!missingTypes.isEmpty())
+            {
+                Heightmap.updateChunkHeightmaps(this.chunk, missingTypes);
+            }
+
+            this.chunk.setModified(true);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package logictechcorp.libraryex.world.generation.feature;
 
 import com.mojang.datafixers.Dynamic;
 import com.mojang.datafixers.types.DynamicOps;
+import logictechcorp.libraryex.world.generation.GenerationBlockWriter;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.material.Material;
@@ -38,6 +39,9 @@ import java.util.function.Function;
 
 public class PoolFeature extends Feature<PoolFeature.Config>
 {
+    private static final long TOP_Y_BITS = 0x8080808080808080L;
+    private static final long BOTTOM_Y_BITS = 0x0101010101010101L;
+
     public PoolFeature(Function<Dynamic<?>, ? extends Config> configFactory)
     {
         super(configFactory);
@@ -71,7 +75,7 @@ public class PoolFeature extends Feature<PoolFeature.Config>
                     return false;
                 }
 
-                boolean[] positions = new boolean[2048];
+                long[] positions = new long[32];
                 int i = random.nextInt(4) + 4;
 
                 for(int j = 0; j < i; j++)
@@ -85,84 +89,130 @@ public class PoolFeature extends Feature<PoolFeature.Config>
 
                     for(int posX = 1; posX < 15; posX++)
                     {
+                        double d6 = ((double) posX - d3) / (d0 / 2.0D);
+                        double d6Squared = d6 * d6;
+
+                        if(d6Squared >= 1.0D)
+                        {
+                            continue;
+                        }
+
                         for(int posZ = 1; posZ < 15; posZ++)
                         {
+                            double d8 = ((double) posZ - d5) / (d2 / 2.0D);
+                            double d68Squared = d6Squared + d8 * d8;
+
+                            if(d68Squared >= 1.0D)
+                            {
+                                continue;
+                            }
+
+                            int word = posX * 2 + (posZ >> 3);
+                            int shift = (posZ & 7) * 8;
+
                             for(int posY = 1; posY < 7; posY++)
                             {
-                                double d6 = ((double) posX - d3) / (d0 / 2.0D);
                                 double d7 = ((double) posY - d4) / (d1 / 2.0D);
-                                double d8 = ((double) posZ - d5) / (d2 / 2.0D);
-                                double d9 = d6 * d6 + d7 * d7 + d8 * d8;
 
-                                if(d9 < 1.0D)
+                                if(d6 * d6 + d7 * d7 + d8 * d8 < 1.0D)
                                 {
-                                    positions[(posX * 16 + posZ) * 8 + posY] = true;
+                                    positions[word] |= 1L << (shift + posY);
                                 }
                             }
                         }
                     }
                 }
 
-                for(int posX = 0; posX < 16; posX++)
+                long[] shell = getShell(positions);
+                BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+                GenerationBlockWriter writer = new GenerationBlockWriter(world);
+
+                for(int word = 0; word < 32; word++)
                 {
-                    for(int posZ = 0; posZ < 16; posZ++)
+                    for(long bits = shell[word]; bits != 0L; bits &= bits - 1L)
                     {
-                        for(int posY = 0; posY < 8; posY++)
-                        {
-                            boolean flag = !positions[(posX * 16 + posZ) * 8 + posY] && (posX < 15 && positions[((posX + 1) * 16 + posZ) * 8 + posY] || posX > 0 && positions[((posX - 1) * 16 + posZ) * 8 + posY] || posZ < 15 && positions[(posX * 16 + posZ + 1) * 8 + posY] || posZ > 0 && positions[(posX * 16 + (posZ - 1)) * 8 + posY] || posY < 7 && positions[(posX * 16 + posZ) * 8 + posY + 1] || posY > 0 && positions[(posX * 16 + posZ) * 8 + (posY - 1)]);
+                        int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                        int posY = index & 7;
+                        mutablePos.setPos(pos.getX() + (index >> 7), pos.getY() + posY, pos.getZ() + ((index >> 3) & 15));
+                        BlockState state = world.getBlockState(mutablePos);
+                        Material material = state.getMaterial();
 
-                            if(flag)
-                            {
-                                Material material = world.getBlockState(pos.add(posX, posY, posZ)).getMaterial();
-
-                                if(posY >= 4 && material.isLiquid())
-                                {
-                                    return false;
-                                }
-                                if(posY < 4 && !material.isSolid() && world.getBlockState(pos.add(posX, posY, posZ)) != config.getLiquidState())
-                                {
-                                    return false;
-                                }
-                            }
+                        if(posY >= 4 && material.isLiquid())
+                        {
+                            return false;
+                        }
+                        if(posY < 4 && !material.isSolid() && state != config.getLiquidState())
+                        {
+                            return false;
                         }
                     }
                 }
 
-                for(int posX = 0; posX < 16; posX++)
+                for(int word = 0; word < 32; word++)
                 {
-                    for(int posZ = 0; posZ < 16; posZ++)
+                    for(long bits = positions[word]; bits != 0L; bits &= bits - 1L)
                     {
-                        for(int posY = 0; posY < 8; posY++)
-                        {
-                            if(positions[(posX * 16 + posZ) * 8 + posY])
-                            {
-                                world.setBlockState(pos.add(posX, posY, posZ), posY >= 4 ? Blocks.CAVE_AIR.getDefaultState() : config.getLiquidState(), 2);
-                            }
-                        }
+                        int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                        int posY = index & 7;
+                        mutablePos.setPos(pos.getX() + (index >> 7), pos.getY() + posY, pos.getZ() + ((index >> 3) & 15));
+                        writer.setBlockState(mutablePos, posY >= 4 ? Blocks.CAVE_AIR.getDefaultState() : config.getLiquidState(), 2);
                     }
                 }
 
-                for(int posX = 0; posX < 16; posX++)
+                for(int word = 0; word < 32; word++)
                 {
-                    for(int posZ = 0; posZ < 16; posZ++)
+                    for(long bits = shell[word]; bits != 0L; bits &= bits - 1L)
                     {
-                        for(int posY = 0; posY < 8; posY++)
-                        {
-                            boolean flag1 = !positions[(posX * 16 + posZ) * 8 + posY] && (posX < 15 && positions[((posX + 1) * 16 + posZ) * 8 + posY] || posX > 0 && positions[((posX - 1) * 16 + posZ) * 8 + posY] || posZ < 15 && positions[(posX * 16 + posZ + 1) * 8 + posY] || posZ > 0 && positions[(posX * 16 + (posZ - 1)) * 8 + posY] || posY < 7 && positions[(posX * 16 + posZ) * 8 + posY + 1] || posY > 0 && positions[(posX * 16 + posZ) * 8 + (posY - 1)]);
+                        int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                        int posY = index & 7;
+                        mutablePos.setPos(pos.getX() + (index >> 7), pos.getY() + posY, pos.getZ() + ((index >> 3) & 15));
 
-                            if(flag1 && (posY < 4 || random.nextInt(2) != 0) && world.getBlockState(pos.add(posX, posY, posZ)).getMaterial().isSolid())
-                            {
-                                world.setBlockState(pos.add(posX, posY, posZ), config.getSurroundingState(), 2);
-                            }
+                        if((posY < 4 || random.nextInt(2) != 0) && world.getBlockState(mutablePos).getMaterial().isSolid())
+                        {
+                            writer.setBlockState(mutablePos, config.getSurroundingState(), 2);
                         }
                     }
                 }
 
+                writer.flush();
                 return true;
             }
         }
     }
 
+    private static long[] getShell(long[] positions)
+    {
+        long[] shell = new long[32];
+
+        for(int word = 0; word < 32; word++)
+        {
+            long bits = positions[word];
+            long neighbors = ((bits >>> 1) & ~TOP_Y_BITS) | ((bits << 1) & ~BOTTOM_Y_BITS);
+
+            if((word & 1) == 0)
+            {
+                neighbors |= (bits >>> 8) | (positions[word + 1] << 56) | (bits << 8);
+            }
+            else
+            {
+                neighbors |= (bits >>> 8) | (bits << 8) | (positions[word - 1] >>> 56);
+            }
+
+            if(word >= 2)
+            {
+                neighbors |= positions[word - 2];
+            }
+            if(word < 30)
+            {
+                neighbors |= positions[word + 2];
+            }
+
+            shell[word] = neighbors & ~bits;
+        }
+
+        return shell;
+    }
+
     public static class Config implements IFeatureConfig
     {
         private final BlockState liquidState;
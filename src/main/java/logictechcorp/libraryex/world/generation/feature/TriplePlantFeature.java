@@ -20,6 +20,7 @@ package logictechcorp.libraryex.world.generation.feature;
 import com.mojang.datafixers.Dynamic;
 import com.mojang.datafixers.types.DynamicOps;
 import logictechcorp.libraryex.block.TriplePlantBlock;
+import logictechcorp.libraryex.world.generation.GenerationBlockWriter;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
@@ -44,6 +45,7 @@ public class TriplePlantFeature extends Feature<TriplePlantFeature.Config>
     public boolean place(IWorld world, ChunkGenerator<? extends GenerationSettings> generator, Random random, BlockPos pos, Config config)
     {
         boolean flag = false;
+        GenerationBlockWriter writer = new GenerationBlockWriter(world);
 
         for(int i = 0; i < 64; i++)
         {
@@ -51,11 +53,12 @@ public class TriplePlantFeature extends Feature<TriplePlantFeature.Config>
 
             if(world.isAirBlock(randomPos) && randomPos.getY() < world.getWorld().getDimension().getHeight() - 2 && config.state.isValidPosition(world, randomPos))
             {
-                ((TriplePlantBlock) config.state.getBlock()).placeAt(world, random, randomPos);
+                ((TriplePlantBlock) config.state.getBlock()).placeAt(writer, random, randomPos);
                 flag = true;
             }
         }
 
+        writer.flush();
         return flag;
     }
 